@@ -0,0 +1,92 @@
+package com.rawlogin.benchmark;
+
+import com.rawlogin.config.auth.AuthContext;
+import com.rawlogin.config.auth.PermissionCatalog;
+import com.rawlogin.config.auth.PermissionEvaluator;
+import com.rawlogin.config.auth.PermissionExpression;
+import com.rawlogin.config.auth.PermissionExpressionParser;
+import com.rawlogin.infrastructure.persistence.PermissionMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 授权判定基准
+ * 使用启动时编译的@PreAuthorize权限表达式，权限查询由内存桩代替，
+ * 测得的是过滤器中授权判定本身的开销（不含数据库往返）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+    private PermissionEvaluator permissionEvaluator;
+
+    private PermissionExpression singlePermission;
+
+    private PermissionExpression selfOrAdmin;
+
+    private MockHttpServletRequest ownProfileRequest;
+
+    private MockHttpServletRequest otherProfileRequest;
+
+    @Setup
+    public void setUp() {
+        PermissionMapper mapper = BenchmarkSupport.permissionMapper();
+        PermissionCatalog catalog = BenchmarkSupport.permissionCatalog(mapper);
+        permissionEvaluator = BenchmarkSupport.permissionEvaluator(mapper, catalog);
+
+        PermissionExpressionParser parser = new PermissionExpressionParser(catalog);
+        singlePermission = parser.parse("sys:user:list", Collections.emptySet());
+        selfOrAdmin = parser.parse("all(sys:user:view, any(role(ADMIN), self(#id)))", Collections.singleton("id"));
+
+        ownProfileRequest = request(BenchmarkSupport.USER_ID);
+        otherProfileRequest = request(BenchmarkSupport.ADMIN_ID);
+    }
+
+    private static MockHttpServletRequest request(int pathUserId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/" + pathUserId);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+                Collections.singletonMap("id", String.valueOf(pathUserId)));
+        return request;
+    }
+
+    @Benchmark
+    public boolean hasPermissionByCode() {
+        return permissionEvaluator.hasPermission(BenchmarkSupport.ADMIN_ID, "sys:user:delete");
+    }
+
+    @Benchmark
+    public boolean singlePermissionGranted() {
+        return singlePermission.evaluate(new AuthContext(
+                BenchmarkSupport.USER_ID, "USER", ownProfileRequest, permissionEvaluator));
+    }
+
+    @Benchmark
+    public boolean selfOrAdminGranted() {
+        return selfOrAdmin.evaluate(new AuthContext(
+                BenchmarkSupport.USER_ID, "USER", ownProfileRequest, permissionEvaluator));
+    }
+
+    @Benchmark
+    public boolean selfOrAdminDenied() {
+        // 既非管理员也非本人，短路求值不加载用户权限
+        return selfOrAdmin.evaluate(new AuthContext(
+                BenchmarkSupport.USER_ID, "USER", otherProfileRequest, permissionEvaluator));
+    }
+}
@@ -0,0 +1,163 @@
+package com.rawlogin.benchmark;
+
+import com.rawlogin.config.auth.PermissionCatalog;
+import com.rawlogin.config.auth.PermissionEvaluator;
+import com.rawlogin.config.auth.PermissionStore;
+import com.rawlogin.config.datasource.ReadWriteRoutingContext;
+import com.rawlogin.config.resilience.DatabaseCircuitBreaker;
+import com.rawlogin.infrastructure.persistence.PermissionMapper;
+import com.rawlogin.infrastructure.po.PermissionPO;
+import com.rawlogin.util.JwtUtil;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基准测试公共装配
+ * 不启动Spring容器，手工构建被测组件；数据库访问由内存桩代替
+ */
+final class BenchmarkSupport {
+
+    static final int ADMIN_ID = 1;
+
+    static final int USER_ID = 2;
+
+    /**
+     * 与迁移脚本V2__create_roles_and_permissions.sql中的权限数据一致
+     */
+    static final List<String> ALL_PERMISSIONS = Collections.unmodifiableList(Arrays.asList(
+            "sys:user:list", "sys:user:view", "sys:user:create", "sys:user:edit", "sys:user:delete",
+            "sys:role:view", "sys:role:create", "sys:role:edit", "sys:role:delete",
+            "sys:log:view", "sys:config:view", "sys:config:edit"));
+
+    static final List<String> USER_PERMISSIONS = Collections.unmodifiableList(Arrays.asList(
+            "sys:user:list", "sys:user:view"));
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * 构建JWT工具（HS256密钥长度满足要求）
+     * @param algorithm 签名算法（HS256或ES256，ES256使用临时生成的密钥）
+     * @return JWT工具
+     */
+    static JwtUtil jwtUtil(String algorithm) {
+        JwtUtil jwtUtil = new JwtUtil();
+        setField(jwtUtil, "secret", "benchmark-secret-key-for-hs256-signing-0123456789");
+        setField(jwtUtil, "expiration", 86400000L);
+        setField(jwtUtil, "algorithm", algorithm);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    /**
+     * 构建使用内存权限数据的权限目录
+     * @param mapper 权限数据访问桩
+     * @return 权限目录
+     */
+    static PermissionCatalog permissionCatalog(PermissionMapper mapper) {
+        PermissionCatalog catalog = new PermissionCatalog();
+        setField(catalog, "permissionMapper", mapper);
+        catalog.reload();
+        return catalog;
+    }
+
+    /**
+     * 构建使用内存权限数据的权限判定器（权限存储不缓存，每次判定都从桩加载）
+     * @param mapper 权限数据访问桩
+     * @param catalog 权限目录
+     * @return 权限判定器
+     */
+    static PermissionEvaluator permissionEvaluator(PermissionMapper mapper, PermissionCatalog catalog) {
+        PermissionEvaluator evaluator = new PermissionEvaluator();
+        setField(evaluator, "permissionStore", permissionStore(mapper, catalog, Duration.ZERO));
+        setField(evaluator, "permissionCatalog", catalog);
+        return evaluator;
+    }
+
+    /**
+     * 构建权限存储
+     * @param mapper 权限数据访问桩
+     * @param catalog 权限目录
+     * @param ttl 有效期，为0时每次都从桩加载（不经过缓存）
+     * @return 权限存储
+     */
+    static PermissionStore permissionStore(PermissionMapper mapper, PermissionCatalog catalog, Duration ttl) {
+        DatabaseCircuitBreaker circuitBreaker = new DatabaseCircuitBreaker();
+        setField(circuitBreaker, "failureThreshold", 5);
+        setField(circuitBreaker, "openDuration", Duration.ofSeconds(10));
+
+        PermissionStore store = new PermissionStore();
+        setField(store, "permissionMapper", mapper);
+        setField(store, "permissionCatalog", catalog);
+        setField(store, "circuitBreaker", circuitBreaker);
+        setField(store, "taskScheduler", new ConcurrentTaskScheduler());
+        setField(store, "routingContext", new ReadWriteRoutingContext());
+        setField(store, "ttl", ttl);
+        setField(store, "staleWhileRevalidate", Duration.ZERO);
+        setField(store, "maxStaleness", Duration.ofMinutes(10));
+        setField(store, "maxEntries", 1000);
+        store.init();
+        return store;
+    }
+
+    /**
+     * PermissionMapper的内存桩，只实现授权路径用到的查询
+     * 管理员拥有全部权限，普通用户拥有查看类权限
+     * @return 权限数据访问桩
+     */
+    static PermissionMapper permissionMapper() {
+        List<PermissionPO> all = toPermissions(ALL_PERMISSIONS);
+        Map<Integer, List<PermissionPO>> byUser = new HashMap<>();
+        byUser.put(ADMIN_ID, all);
+        byUser.put(USER_ID, toPermissions(USER_PERMISSIONS));
+
+        return (PermissionMapper) Proxy.newProxyInstance(
+                PermissionMapper.class.getClassLoader(),
+                new Class<?>[]{PermissionMapper.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findAll":
+                            return all;
+                        case "findByUserId":
+                            // 每次返回新列表，与MyBatis的行为一致
+                            return new ArrayList<>(byUser.getOrDefault((Integer) args[0], Collections.emptyList()));
+                        case "toString":
+                            return "PermissionMapperStub";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static List<PermissionPO> toPermissions(List<String> codes) {
+        List<PermissionPO> permissions = new ArrayList<>(codes.size());
+        for (int i = 0; i < codes.size(); i++) {
+            String code = codes.get(i);
+            permissions.add(new PermissionPO(i + 1, code, code, null, code.split(":")[1], null));
+        }
+        return permissions;
+    }
+
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("无法设置字段 " + name, e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.rawlogin.benchmark;
+
+import com.rawlogin.application.converter.RoleConverter;
+import com.rawlogin.application.converter.UserConverter;
+import com.rawlogin.application.dto.RoleDTO;
+import com.rawlogin.application.dto.UserDTO;
+import com.rawlogin.infrastructure.po.RolePO;
+import com.rawlogin.infrastructure.po.UserPO;
+import com.rawlogin.interfaces.vo.RoleVO;
+import com.rawlogin.interfaces.vo.UserVO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对象转换基准
+ * 覆盖用户列表、角色列表接口的PO -> DTO -> VO转换
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConverterBenchmark {
+
+    /**
+     * 列表大小
+     */
+    @Param({"1", "50"})
+    public int size;
+
+    private List<UserPO> userPOs;
+
+    private List<UserDTO> userDTOs;
+
+    private List<RolePO> rolePOs;
+
+    private List<RoleDTO> roleDTOs;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        userPOs = new ArrayList<>(size);
+        rolePOs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UserPO user = new UserPO("user" + i, "$2a$10$hash", "user" + i + "@example.com", i == 0 ? "ADMIN" : "USER");
+            user.setId(i + 1);
+            user.setLastLoginTime(now);
+            userPOs.add(user);
+
+            RolePO role = new RolePO();
+            role.setId(i + 1);
+            role.setName("角色" + i);
+            role.setCode(i == 0 ? "ADMIN" : "ROLE_" + i);
+            role.setDescription("基准测试角色");
+            role.setStatus(1);
+            rolePOs.add(role);
+        }
+        userDTOs = UserConverter.toDTOList(userPOs);
+        roleDTOs = RoleConverter.toDTOList(rolePOs);
+        for (RoleDTO role : roleDTOs) {
+            role.setPermissions(BenchmarkSupport.ALL_PERMISSIONS);
+            role.setUserCount(3);
+        }
+    }
+
+    @Benchmark
+    public List<UserDTO> userPoToDto() {
+        return UserConverter.toDTOList(userPOs);
+    }
+
+    @Benchmark
+    public List<UserVO> userDtoToVo() {
+        return UserConverter.toVOList(userDTOs);
+    }
+
+    @Benchmark
+    public List<UserVO> userPoToVo() {
+        return UserConverter.toVOListFromPO(userPOs);
+    }
+
+    @Benchmark
+    public List<RoleDTO> rolePoToDto() {
+        return RoleConverter.toDTOList(rolePOs);
+    }
+
+    @Benchmark
+    public List<RoleVO> roleDtoToVoWithPermissions() {
+        return RoleConverter.toVOList(roleDTOs);
+    }
+}
@@ -0,0 +1,268 @@
+package com.rawlogin.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 数据访问基准（需要MySQL）
+ * 以默认连接池配置(baseline)和application-tuned.properties的配置(tuned)分别执行
+ * 登录路径（按用户名查用户、查权限、更新登录时间）和角色权限更新路径（逐行 vs 批量）的SQL，
+ * 语句与对应Mapper一致。数据库需已由应用完成迁移，运行方式：
+ * <pre>
+ * java -Dbenchmark.jdbc.url=jdbc:mysql://host:3306/user_db -Dbenchmark.jdbc.username=root \
+ *      -Dbenchmark.jdbc.password=*** -jar benchmarks/target/benchmarks.jar DataAccessBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class DataAccessBenchmark {
+
+    private static final String USERNAME = "admin";
+
+    private static final String ROLE_CODE = "BENCH_ROLE";
+
+    private static final List<String> PERMISSION_CODES = Arrays.asList(
+            "sys:user:list", "sys:user:view", "sys:user:add", "sys:user:edit",
+            "sys:role:list", "sys:role:view", "sys:role:add", "sys:role:edit");
+
+    private static final String SELECT_USER = "SELECT * FROM users WHERE username = ?";
+
+    private static final String SELECT_USER_PERMISSIONS = "SELECT DISTINCT p.* FROM permissions p "
+            + "INNER JOIN role_permissions rp ON p.id = rp.permission_id "
+            + "INNER JOIN user_roles ur ON rp.role_id = ur.role_id WHERE ur.user_id = ?";
+
+    private static final String UPDATE_LAST_LOGIN = "UPDATE users SET last_login_time = NOW() WHERE id = ?";
+
+    private static final String DELETE_ROLE_PERMISSIONS = "DELETE FROM role_permissions WHERE role_id = ?";
+
+    private static final String SELECT_PERMISSION_BY_CODE = "SELECT * FROM permissions WHERE code = ?";
+
+    private static final String INSERT_ROLE_PERMISSION =
+            "INSERT INTO role_permissions (role_id, permission_id) VALUES (?, ?)";
+
+    /**
+     * baseline：Hikari默认配置；tuned：与application-tuned.properties一致
+     */
+    @Param({"baseline", "tuned"})
+    public String pool;
+
+    private HikariDataSource dataSource;
+
+    /**
+     * 每个线程更新各自的角色，避免行锁竞争干扰结果
+     */
+    private final List<Integer> roleIds = new ArrayList<>();
+
+    private final AtomicInteger nextRole = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getProperty("benchmark.jdbc.url",
+                "jdbc:mysql://localhost:3306/user_db?useSSL=false&serverTimezone=UTC&characterEncoding=utf8"));
+        config.setUsername(System.getProperty("benchmark.jdbc.username", "root"));
+        config.setPassword(System.getProperty("benchmark.jdbc.password", ""));
+        if ("tuned".equals(pool)) {
+            config.setMaximumPoolSize(16);
+            config.setMinimumIdle(16);
+            config.addDataSourceProperty("useServerPrepStmts", "true");
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("prepStmtCacheSize", "256");
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            config.addDataSourceProperty("rewriteBatchedStatements", "true");
+            config.addDataSourceProperty("cacheResultSetMetadata", "true");
+            config.addDataSourceProperty("cacheServerConfiguration", "true");
+            config.addDataSourceProperty("useLocalSessionState", "true");
+            config.addDataSourceProperty("elideSetAutoCommits", "true");
+            config.addDataSourceProperty("maintainTimeStats", "false");
+        }
+        dataSource = new HikariDataSource(config);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (int i = 0; i < 64; i++) {
+                String code = ROLE_CODE + "_" + i;
+                statement.executeUpdate("INSERT IGNORE INTO roles (name, code, description, status) VALUES ('"
+                        + code + "', '" + code + "', 'benchmark', 1)");
+                try (ResultSet rs = statement.executeQuery("SELECT id FROM roles WHERE code = '" + code + "'")) {
+                    rs.next();
+                    roleIds.add(rs.getInt(1));
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM roles WHERE code LIKE '" + ROLE_CODE + "\\_%'");
+        } finally {
+            dataSource.close();
+        }
+    }
+
+    /**
+     * 线程私有的角色ID
+     */
+    @State(Scope.Thread)
+    public static class RoleSlot {
+
+        Integer roleId;
+
+        @Setup(Level.Trial)
+        public void setUp(DataAccessBenchmark benchmark) {
+            roleId = benchmark.roleIds.get(benchmark.nextRole.getAndIncrement() % benchmark.roleIds.size());
+        }
+    }
+
+    /**
+     * 登录路径的数据库部分（不含BCrypt）
+     */
+    @Benchmark
+    public void login(Blackhole blackhole) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            int userId;
+            try (PreparedStatement ps = connection.prepareStatement(SELECT_USER)) {
+                ps.setString(1, USERNAME);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new IllegalStateException("用户不存在: " + USERNAME);
+                    }
+                    userId = rs.getInt("id");
+                    blackhole.consume(rs.getString("password"));
+                }
+            }
+            try (PreparedStatement ps = connection.prepareStatement(SELECT_USER_PERMISSIONS)) {
+                ps.setInt(1, userId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        blackhole.consume(rs.getString("code"));
+                    }
+                }
+            }
+            try (PreparedStatement ps = connection.prepareStatement(UPDATE_LAST_LOGIN)) {
+                ps.setInt(1, userId);
+                blackhole.consume(ps.executeUpdate());
+            }
+        }
+    }
+
+    /**
+     * 角色权限更新：逐个查询权限代码、逐行插入（原实现）
+     */
+    @Benchmark
+    public void roleUpdateRowByRow(RoleSlot slot) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                deleteRolePermissions(connection, slot.roleId);
+                for (String code : PERMISSION_CODES) {
+                    Integer permissionId = null;
+                    try (PreparedStatement ps = connection.prepareStatement(SELECT_PERMISSION_BY_CODE)) {
+                        ps.setString(1, code);
+                        try (ResultSet rs = ps.executeQuery()) {
+                            if (rs.next()) {
+                                permissionId = rs.getInt("id");
+                            }
+                        }
+                    }
+                    if (permissionId != null) {
+                        try (PreparedStatement ps = connection.prepareStatement(INSERT_ROLE_PERMISSION)) {
+                            ps.setInt(1, slot.roleId);
+                            ps.setInt(2, permissionId);
+                            ps.executeUpdate();
+                        }
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * 角色权限更新：一次IN查询解析权限代码，JDBC批量插入
+     * （tuned配置下被rewriteBatchedStatements改写为单条多值INSERT，与RolePermissionMapper#batchInsert等价）
+     */
+    @Benchmark
+    public void roleUpdateBatched(RoleSlot slot) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                deleteRolePermissions(connection, slot.roleId);
+                List<Integer> permissionIds = new ArrayList<>(PERMISSION_CODES.size());
+                StringBuilder sql = new StringBuilder("SELECT id FROM permissions WHERE code IN (");
+                for (int i = 0; i < PERMISSION_CODES.size(); i++) {
+                    sql.append(i == 0 ? "?" : ", ?");
+                }
+                try (PreparedStatement ps = connection.prepareStatement(sql.append(')').toString())) {
+                    for (int i = 0; i < PERMISSION_CODES.size(); i++) {
+                        ps.setString(i + 1, PERMISSION_CODES.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            permissionIds.add(rs.getInt(1));
+                        }
+                    }
+                }
+                try (PreparedStatement ps = connection.prepareStatement(INSERT_ROLE_PERMISSION)) {
+                    for (Integer permissionId : permissionIds) {
+                        ps.setInt(1, slot.roleId);
+                        ps.setInt(2, permissionId);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private void deleteRolePermissions(Connection connection, Integer roleId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(DELETE_ROLE_PERMISSIONS)) {
+            ps.setInt(1, roleId);
+            ps.executeUpdate();
+        }
+    }
+}
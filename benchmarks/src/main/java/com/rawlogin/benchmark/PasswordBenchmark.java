@@ -0,0 +1,52 @@
+package com.rawlogin.benchmark;
+
+import com.rawlogin.util.PasswordUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt密码加密与校验基准
+ * 登录延迟的主要组成部分，单次耗时为毫秒级
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class PasswordBenchmark {
+
+    private static final String PASSWORD = "admin123";
+
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        encoded = PasswordUtil.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return PasswordUtil.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return PasswordUtil.matches(PASSWORD, encoded);
+    }
+
+    @Benchmark
+    public boolean mismatches() {
+        return PasswordUtil.matches("wrong-password", encoded);
+    }
+}
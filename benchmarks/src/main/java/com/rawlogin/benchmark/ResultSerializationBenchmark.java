@@ -0,0 +1,84 @@
+package com.rawlogin.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rawlogin.application.converter.UserConverter;
+import com.rawlogin.common.Result;
+import com.rawlogin.common.ResultCode;
+import com.rawlogin.infrastructure.po.UserPO;
+import com.rawlogin.interfaces.vo.UserVO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result响应体JSON序列化基准
+ * ObjectMapper按Spring Boot默认方式构建
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultSerializationBenchmark {
+
+    /**
+     * 用户列表大小
+     */
+    @Param({"1", "50"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+
+    private Result<List<UserVO>> userList;
+
+    private Result<UserVO> singleUser;
+
+    private Result<Void> error;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<UserPO> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UserPO user = new UserPO("user" + i, "$2a$10$hash", "user" + i + "@example.com", "USER");
+            user.setId(i + 1);
+            user.setLastLoginTime(LocalDateTime.now());
+            users.add(user);
+        }
+        List<UserVO> vos = UserConverter.toVOList(UserConverter.toDTOList(users));
+        userList = Result.success(vos);
+        singleUser = Result.success("登录成功", vos.get(0));
+        error = Result.error(ResultCode.UNAUTHORIZED, "认证令牌无效或已过期");
+    }
+
+    @Benchmark
+    public byte[] userList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userList);
+    }
+
+    @Benchmark
+    public byte[] singleUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(singleUser);
+    }
+
+    @Benchmark
+    public byte[] error() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(error);
+    }
+}
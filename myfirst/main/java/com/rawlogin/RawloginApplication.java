@@ -2,7 +2,11 @@ package com.rawlogin;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Profiles;
 import com.rawlogin.config.DddConfig;
 
 /**
@@ -13,9 +17,38 @@ import com.rawlogin.config.DddConfig;
 @Import(DddConfig.class)
 public class RawloginApplication {
 
+    /**
+     * 启动步骤缓冲容量
+     */
+    private static final int STARTUP_STEP_CAPACITY = 4096;
+
+    /**
+     * 记录启动时间线的profile
+     */
+    private static final String FAST_STARTUP_PROFILE = "fast";
+
     public static void main(String[] args) {
-        SpringApplication.run(RawloginApplication.class, args);
+        SpringApplication application = new SpringApplication(RawloginApplication.class);
+        application.addListeners(new StartupTimelineActivator());
+        application.run(args);
         System.out.println("o(><；)oo启动成功o((>ω< ))o");
         System.out.println("DDD架构已启用 - 领域驱动设计分层架构");
     }
+
+    /**
+     * 快速启动profile下记录启动步骤时间线，供启动报告和/actuator/startup使用；
+     * 其他profile保持默认（不缓冲启动步骤）。
+     * 环境准备完成后才能判断profile，此前的少量步骤不在时间线中
+     */
+    private static final class StartupTimelineActivator
+            implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+        @Override
+        public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+            if (event.getEnvironment().acceptsProfiles(Profiles.of(FAST_STARTUP_PROFILE))) {
+                event.getSpringApplication().setApplicationStartup(
+                        new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+            }
+        }
+    }
 }
\ No newline at end of file
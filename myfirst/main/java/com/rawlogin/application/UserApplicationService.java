@@ -17,9 +17,10 @@ public interface UserApplicationService {
      * 用户登录用例
      * @param username 用户名
      * @param password 密码
+     * @param clientIp 客户端IP（用于登录失败限制，可为null）
      * @return 登录结果
      */
-    Result<UserVO> login(String username, String password);
+    Result<UserVO> login(String username, String password, String clientIp);
     
     /**
      * 用户注册用例
@@ -9,7 +9,6 @@ import com.rawlogin.interfaces.vo.RoleVO;
 import com.rawlogin.application.converter.RoleConverter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -71,7 +70,6 @@ public class RoleApplicationServiceImpl implements RoleApplicationService {
     }
     
     @Override
-    @Transactional
     public Result<RoleVO> createRole(RoleDTO roleDTO) {
         try {
             // 验证必填字段
@@ -97,7 +95,6 @@ public class RoleApplicationServiceImpl implements RoleApplicationService {
     }
     
     @Override
-    @Transactional
     public Result<RoleVO> updateRole(RoleDTO roleDTO) {
         try {
             // 验证必填字段
@@ -123,7 +120,6 @@ public class RoleApplicationServiceImpl implements RoleApplicationService {
     }
     
     @Override
-    @Transactional
     public Result<Void> deleteRole(Integer id) {
         try {
             // 调用领域服务删除角色
@@ -134,7 +130,6 @@ public class RoleApplicationServiceImpl implements RoleApplicationService {
     }
     
     @Override
-    @Transactional
     public Result<Void> batchDeleteRoles(List<Integer> ids) {
         try {
             // 调用领域服务批量删除角色
@@ -155,7 +150,6 @@ public class RoleApplicationServiceImpl implements RoleApplicationService {
     }
     
     @Override
-    @Transactional
     public Result<Void> addPermission(Integer roleId, String permissionCode) {
         try {
             // 调用领域服务添加权限
@@ -166,7 +160,6 @@ public class RoleApplicationServiceImpl implements RoleApplicationService {
     }
     
     @Override
-    @Transactional
     public Result<Void> removePermission(Integer roleId, String permissionCode) {
         try {
             // 调用领域服务移除权限
@@ -8,12 +8,12 @@ import com.rawlogin.domain.service.UserDomainService;
 import com.rawlogin.domain.model.User;
 import com.rawlogin.application.converter.UserConverter;
 import com.rawlogin.common.Result;
+import com.rawlogin.config.auth.LoginAttemptTracker;
 import com.rawlogin.util.PasswordUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,9 +22,10 @@ import java.util.stream.Collectors;
 /**
  * 用户应用服务实现
  * 编排应用层的用例和业务流程
+ * 各用例的写操作都是单条语句，不开启事务：每条语句以自动提交执行，执行完即归还连接，
+ * BCrypt加密/校验期间不占用数据库连接，也不持有行锁
  */
 @Service
-@Transactional
 public class UserApplicationServiceImpl implements UserApplicationService {
     
     private static final Logger logger = LoggerFactory.getLogger(UserApplicationServiceImpl.class);
@@ -35,10 +36,13 @@ public class UserApplicationServiceImpl implements UserApplicationService {
     @Autowired
     private UserDomainService userDomainService;
     
+    @Autowired
+    private LoginAttemptTracker loginAttemptTracker;
+    
     @Override
-    public Result<UserVO> login(String username, String password) {
+    public Result<UserVO> login(String username, String password, String clientIp) {
         try {
-            logger.info("用户登录尝试: {}", username);
+            logger.debug("用户登录尝试: {}", username);
             
             // 验证登录信息
             Result<String> validationResult = userDomainService.validateLogin(username, password);
@@ -46,18 +50,39 @@ public class UserApplicationServiceImpl implements UserApplicationService {
                 return Result.error(validationResult.getMessage());
             }
             
-            // 查找用户
-            Optional<UserDTO> userOpt = userRepository.findByUsername(username);
-            if (!userOpt.isPresent()) {
-                logger.warn("用户不存在: {}", username);
-                return Result.error("用户名或密码错误");
+            // 失败次数过多的账号/IP直接拒绝，不查库也不做BCrypt校验；放行的尝试先按失败预占计数
+            LoginAttemptTracker.Rejection rejection = loginAttemptTracker.acquire(username, clientIp);
+            if (rejection != null) {
+                return Result.error(rejection.getCode(), rejection.getMessage());
             }
             
-            UserDTO foundUser = userOpt.get();
-            
-            // 检查密码是否匹配（使用加密比较）
-            if (!PasswordUtil.matches(password, foundUser.getPassword())) {
-                return Result.error("用户名或密码错误");
+            UserDTO foundUser;
+            boolean settled = false;
+            try {
+                // 查找用户
+                Optional<UserDTO> userOpt = userRepository.findByUsername(username);
+                if (!userOpt.isPresent()) {
+                    logger.warn("用户不存在: {}", username);
+                    loginAttemptTracker.recordFailure(username, clientIp);
+                    settled = true;
+                    return Result.error("用户名或密码错误");
+                }
+                
+                foundUser = userOpt.get();
+                
+                // 检查密码是否匹配（使用加密比较，此时查询连接已归还）
+                if (!PasswordUtil.matches(password, foundUser.getPassword())) {
+                    loginAttemptTracker.recordFailure(username, clientIp);
+                    settled = true;
+                    return Result.error("用户名或密码错误");
+                }
+                loginAttemptTracker.recordSuccess(username, clientIp);
+                settled = true;
+            } finally {
+                if (!settled) {
+                    // 查库等异常未得出结果，不计为失败
+                    loginAttemptTracker.release(username, clientIp);
+                }
             }
             
             // 检查用户是否可以登录
@@ -87,7 +112,7 @@ public class UserApplicationServiceImpl implements UserApplicationService {
     @Override
     public Result<UserVO> register(UserDTO userDTO) {
         try {
-            logger.info("用户注册尝试: {}", userDTO.getUsername());
+            logger.debug("用户注册尝试: {}", userDTO.getUsername());
             
             // 验证注册信息
             Result<String> validationResult = userDomainService.validateRegistration(
@@ -137,7 +162,7 @@ public class UserApplicationServiceImpl implements UserApplicationService {
      */
     public Result<UserVO> register(User user) {
         try {
-            logger.info("用户注册尝试: {}", user.getUsername());
+            logger.debug("用户注册尝试: {}", user.getUsername());
             
             // 验证注册信息
             Result<String> validationResult = userDomainService.validateRegistration(
@@ -16,6 +16,7 @@ public class ResultCode {
     public static final int NOT_FOUND = 404;
     public static final int METHOD_NOT_ALLOWED = 405;
     public static final int CONFLICT = 409;
+    public static final int TOO_MANY_REQUESTS = 429;
     
     // 服务器错误状态码
     public static final int INTERNAL_SERVER_ERROR = 500;
@@ -30,4 +31,5 @@ public class ResultCode {
     public static final int TOKEN_INVALID = 605;
     public static final int TOKEN_EXPIRED = 606;
     public static final int PARAM_ERROR = 607 ;
+    public static final int ACCOUNT_LOCKED = 608;
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.rawlogin.config;
+
+import com.rawlogin.application.UserApplicationService;
+import com.rawlogin.config.auth.AuthRequirementRegistry;
+import com.rawlogin.config.auth.PermissionCatalog;
+import com.rawlogin.interfaces.AuthController;
+import com.rawlogin.util.JwtUtil;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+/**
+ * 快速启动配置（fast profile）
+ * 配合spring.main.lazy-initialization=true使用：其余Bean在首次使用时才创建，
+ * 数据库迁移和登录链路上的Bean仍在启动时创建，保证实例就绪即可处理/api/auth/login
+ */
+@Configuration
+@Profile("fast")
+public class FastStartupConfig {
+
+    /**
+     * 登录链路及启动时必须执行的Bean不参与懒加载
+     * @return 懒加载排除过滤器
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter loginPathEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class,
+                Flyway.class,
+                FlywayMigrationInitializer.class,
+                SqlSessionFactory.class,
+                PermissionCatalog.class,
+                AuthRequirementRegistry.class,
+                JwtUtil.class,
+                UserApplicationService.class,
+                AuthController.class);
+    }
+}
@@ -0,0 +1,60 @@
+package com.rawlogin.config;
+
+import com.rawlogin.config.datasource.ReadWriteRoutingContext;
+import com.rawlogin.config.datasource.ReadWriteRoutingInterceptor;
+import com.rawlogin.config.metrics.MapperMetricsInterceptor;
+import com.rawlogin.config.metrics.SqlProfiler;
+import com.rawlogin.config.metrics.SqlProfilerInterceptor;
+import com.rawlogin.config.resilience.DatabaseCircuitBreaker;
+import com.rawlogin.config.resilience.DatabaseCircuitBreakerInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MyBatis配置类
+ * 注册MyBatis插件，MyBatis-Plus自动配置会将容器中的Interceptor加入SqlSessionFactory
+ */
+@Configuration
+public class MybatisConfig {
+
+    /**
+     * Mapper语句耗时指标
+     * @param meterRegistry 指标注册表
+     * @return 拦截器
+     */
+    @Bean
+    public MapperMetricsInterceptor mapperMetricsInterceptor(MeterRegistry meterRegistry) {
+        return new MapperMetricsInterceptor(meterRegistry);
+    }
+
+    /**
+     * SQL分析（N+1、慢查询、Top-K）
+     * @param sqlProfiler SQL语句分析器
+     * @return 拦截器
+     */
+    @Bean
+    public SqlProfilerInterceptor sqlProfilerInterceptor(SqlProfiler sqlProfiler) {
+        return new SqlProfilerInterceptor(sqlProfiler);
+    }
+
+    /**
+     * 读写分离语句标记（未配置从库时只记录状态，不影响路由）
+     * @param routingContext 读写分离路由上下文
+     * @return 拦截器
+     */
+    @Bean
+    public ReadWriteRoutingInterceptor readWriteRoutingInterceptor(ReadWriteRoutingContext routingContext) {
+        return new ReadWriteRoutingInterceptor(routingContext);
+    }
+
+    /**
+     * 数据库熔断（熔断器打开时Mapper调用快速失败）
+     * @param circuitBreaker 数据库熔断器
+     * @return 拦截器
+     */
+    @Bean
+    public DatabaseCircuitBreakerInterceptor databaseCircuitBreakerInterceptor(DatabaseCircuitBreaker circuitBreaker) {
+        return new DatabaseCircuitBreakerInterceptor(circuitBreaker);
+    }
+}
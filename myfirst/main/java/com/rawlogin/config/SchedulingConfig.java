@@ -0,0 +1,13 @@
+package com.rawlogin.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置
+ * 启用后Spring Boot自动配置共享的TaskScheduler（spring.task.scheduling.*），供后台维护任务使用
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
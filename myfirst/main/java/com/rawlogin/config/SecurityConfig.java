@@ -34,7 +34,7 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             // 配置请求授权规则
             .authorizeHttpRequests(authz -> authz
-                // 允许所有请求，由JWT拦截器处理认证
+                // 允许所有请求，由JWT认证过滤器处理认证
                 .anyRequest().permitAll()
             )
             // 禁用Spring Security的默认表单登录，使用我们自定义的登录逻辑
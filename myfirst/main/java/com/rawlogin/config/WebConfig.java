@@ -1,30 +1,152 @@
 package com.rawlogin.config;
 
-import com.rawlogin.interceptor.JwtInterceptor;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.rawlogin.config.auth.AuthRequirementRegistry;
+import com.rawlogin.config.auth.PermissionEvaluator;
+import com.rawlogin.config.concurrency.ConcurrencyLimitFilter;
+import com.rawlogin.config.concurrency.ConcurrencyLimitProperties;
+import com.rawlogin.config.datasource.ReadWriteRoutingContext;
+import com.rawlogin.config.datasource.ReadWriteRoutingFilter;
+import com.rawlogin.config.logging.RequestLoggingFilter;
+import com.rawlogin.config.metrics.SqlProfiler;
+import com.rawlogin.config.ratelimit.RateLimitFilter;
+import com.rawlogin.config.ratelimit.RateLimiter;
+import com.rawlogin.config.resilience.DatabaseCircuitBreaker;
+import com.rawlogin.config.resilience.DegradedModeFilter;
+import com.rawlogin.config.metrics.SqlProfilingFilter;
+import com.rawlogin.interceptor.AuthResponseWriter;
+import com.rawlogin.interceptor.JwtAuthenticationFilter;
+import com.rawlogin.util.JwtUtil;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.core.Ordered;
 
 /**
  * Web配置类
- * 配置拦截器等Web相关设置
- * 支持DDD架构的接口层路径
+ * 注册认证授权过滤器等Web相关设置
  */
 @Configuration
-public class WebConfig implements WebMvcConfigurer {
-    
-    @Autowired
-    private JwtInterceptor jwtInterceptor;
-    
-    @Override
-    public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(jwtInterceptor)
-                .addPathPatterns("/api/**") // 拦截所有/api/路径的请求
-                .addPathPatterns("/interfaces/**") // 拦截DDD架构接口层路径
-                .excludePathPatterns("/api/auth/login") // 排除登录接口
-                .excludePathPatterns("/api/auth/register") // 排除注册接口
-                .excludePathPatterns("/interfaces/auth/login") // 排除DDD架构登录接口
-                .excludePathPatterns("/interfaces/auth/register"); // 排除DDD架构注册接口
+public class WebConfig {
+
+    /**
+     * JWT认证授权过滤器
+     * 排在Spring Security过滤器链（负责CORS）之后，早于DispatcherServlet分发
+     * @return 过滤器注册Bean
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilter(
+            AuthRequirementRegistry authRequirementRegistry,
+            PermissionEvaluator permissionEvaluator,
+            JwtUtil jwtUtil,
+            AuthResponseWriter authResponseWriter,
+            ReadWriteRoutingContext routingContext) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(
+                new JwtAuthenticationFilter(authRequirementRegistry, permissionEvaluator, jwtUtil, authResponseWriter,
+                        routingContext));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 3);
+        return registration;
+    }
+
+    /**
+     * 限流过滤器
+     * 排在认证授权过滤器之后，已认证请求可按用户ID限流
+     * @param rateLimiter 限流器
+     * @param authResponseWriter 错误响应写出器
+     * @return 过滤器注册Bean
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter,
+                                                                   AuthResponseWriter authResponseWriter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(rateLimiter, authResponseWriter));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 4);
+        return registration;
+    }
+
+    /**
+     * 自适应并发限制过滤器
+     * 紧接Spring Security过滤器链（CORS）之后、认证授权之前，超出并发上限的请求不再查询权限
+     * @param properties 并发限制配置
+     * @param authResponseWriter 错误响应写出器
+     * @return 过滤器注册Bean
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            ConcurrencyLimitProperties properties, AuthResponseWriter authResponseWriter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(properties, authResponseWriter));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    /**
+     * 降级模式过滤器
+     * 排在并发限制之后、认证授权之前，数据库熔断期间修改类请求直接返回503
+     * @param circuitBreaker 数据库熔断器
+     * @param authResponseWriter 错误响应写出器
+     * @return 过滤器注册Bean
+     */
+    @Bean
+    public FilterRegistrationBean<DegradedModeFilter> degradedModeFilter(DatabaseCircuitBreaker circuitBreaker,
+                                                                         AuthResponseWriter authResponseWriter) {
+        FilterRegistrationBean<DegradedModeFilter> registration = new FilterRegistrationBean<>(
+                new DegradedModeFilter(circuitBreaker, authResponseWriter));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+
+    /**
+     * SQL分析请求边界过滤器
+     * 排在认证授权过滤器之前，使其中的权限查询也计入请求统计
+     * @param sqlProfiler SQL语句分析器
+     * @return 过滤器注册Bean
+     */
+    @Bean
+    public FilterRegistrationBean<SqlProfilingFilter> sqlProfilingFilter(SqlProfiler sqlProfiler) {
+        FilterRegistrationBean<SqlProfilingFilter> registration = new FilterRegistrationBean<>(
+                new SqlProfilingFilter(sqlProfiler));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    /**
+     * 读写分离请求边界过滤器
+     * 排在认证授权过滤器之前，请求结束时清理路由状态
+     * @param routingContext 读写分离路由上下文
+     * @return 过滤器注册Bean
+     */
+    @Bean
+    public FilterRegistrationBean<ReadWriteRoutingFilter> readWriteRoutingFilter(
+            ReadWriteRoutingContext routingContext) {
+        FilterRegistrationBean<ReadWriteRoutingFilter> registration = new FilterRegistrationBean<>(
+                new ReadWriteRoutingFilter(routingContext));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    /**
+     * 请求日志过滤器（requestId和采样访问日志）
+     * 排在最前，使后续过滤器和业务日志都带上requestId
+     * @param sampleEvery 每个接口每N个请求记录一次访问日志
+     * @param slowMillis 慢请求阈值（毫秒），超过时总是记录
+     * @return 过滤器注册Bean
+     */
+    @Bean
+    public FilterRegistrationBean<RequestLoggingFilter> requestLoggingFilter(
+            @Value("${rawlogin.access-log.sample-every:1}") int sampleEvery,
+            @Value("${rawlogin.access-log.slow-millis:1000}") long slowMillis) {
+        FilterRegistrationBean<RequestLoggingFilter> registration = new FilterRegistrationBean<>(
+                new RequestLoggingFilter(sampleEvery, slowMillis));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
     }
-}
\ No newline at end of file
+}
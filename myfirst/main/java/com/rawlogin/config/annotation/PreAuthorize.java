@@ -14,13 +14,15 @@ import java.lang.annotation.Target;
 public @interface PreAuthorize {
     
     /**
-     * 权限表达式
-     * @return 权限字符串
+     * 权限表达式，启动时编译
+     * 支持权限代码及组合：any(...)、all(...)、self(#路径变量)、role(角色代码)，
+     * 如 all(sys:user:edit, any(role(ADMIN), self(#id)))
+     * @return 权限表达式
      */
     String value() default "";
     
     /**
-     * 是否需要认证
+     * 是否需要认证；/api下未标注的接口同样需要认证，公开接口须显式设为false
      * @return true表示需要认证
      */
     boolean authenticated() default true;
@@ -0,0 +1,114 @@
+package com.rawlogin.config.aspect;
+
+import com.rawlogin.common.Result;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 指标采集切面
+ * 为interfaces层控制器和应用服务的每个方法记录耗时，
+ * outcome标签区分成功、业务失败（Result非成功）和异常。
+ * 每个方法各outcome的Timer在首次出现时注册并缓存，之后的调用不再构建和查找
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    /**
+     * outcome标签值，下标即OUTCOME_*常量
+     */
+    private static final String[] OUTCOMES = {"success", "failure", "exception"};
+    private static final int OUTCOME_SUCCESS = 0;
+    private static final int OUTCOME_FAILURE = 1;
+    private static final int OUTCOME_EXCEPTION = 2;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 方法 -> 各outcome的Timer（下标与OUTCOMES一致）
+     */
+    private final ConcurrentHashMap<Method, AtomicReferenceArray<Timer>> controllerTimers = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Method, AtomicReferenceArray<Timer>> serviceTimers = new ConcurrentHashMap<>();
+
+    /**
+     * 控制器接口耗时
+     */
+    @Around("within(com.rawlogin.interfaces..*) " +
+            "&& @within(org.springframework.web.bind.annotation.RestController)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("rawlogin.controller", controllerTimers, joinPoint);
+    }
+
+    /**
+     * 应用服务耗时
+     */
+    @Around("execution(public * com.rawlogin.application.UserApplicationService+.*(..)) " +
+            "|| execution(public * com.rawlogin.application.RoleApplicationService+.*(..))")
+    public Object timeApplicationService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("rawlogin.service", serviceTimers, joinPoint);
+    }
+
+    private Object record(String name, ConcurrentHashMap<Method, AtomicReferenceArray<Timer>> timers,
+                          ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        int outcome = OUTCOME_EXCEPTION;
+        try {
+            Object result = joinPoint.proceed();
+            outcome = outcome(result);
+            return result;
+        } finally {
+            timer(name, timers, joinPoint, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 取方法在该outcome下的Timer，首次使用时注册（并发注册返回同一个Timer，覆盖无害）
+     */
+    private Timer timer(String name, ConcurrentHashMap<Method, AtomicReferenceArray<Timer>> timers,
+                        ProceedingJoinPoint joinPoint, int outcome) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        AtomicReferenceArray<Timer> methodTimers = timers.get(signature.getMethod());
+        if (methodTimers == null) {
+            methodTimers = timers.computeIfAbsent(signature.getMethod(),
+                    method -> new AtomicReferenceArray<>(OUTCOMES.length));
+        }
+        Timer timer = methodTimers.get(outcome);
+        if (timer == null) {
+            timer = Timer.builder(name)
+                    .tag("class", signature.getDeclaringType().getSimpleName())
+                    .tag("method", signature.getName())
+                    .tag("outcome", OUTCOMES[outcome])
+                    .register(meterRegistry);
+            methodTimers.set(outcome, timer);
+        }
+        return timer;
+    }
+
+    private int outcome(Object result) {
+        if (result instanceof ResponseEntity) {
+            ResponseEntity<?> entity = (ResponseEntity<?>) result;
+            if (!entity.getStatusCode().is2xxSuccessful()) {
+                return OUTCOME_FAILURE;
+            }
+            result = entity.getBody();
+        }
+        if (result instanceof Result && !((Result<?>) result).isSuccess()) {
+            return OUTCOME_FAILURE;
+        }
+        return OUTCOME_SUCCESS;
+    }
+}
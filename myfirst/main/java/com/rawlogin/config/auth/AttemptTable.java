@@ -0,0 +1,333 @@
+package com.rawlogin.config.auth;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 登录失败计数表
+ * 固定容量的4路组相联表，按键（用户名或IP）的64位哈希定位，每项约37字节，内存占用与键的数量无关：
+ * 组满时淘汰组内最久未活动且未处于封禁中的项。表按组分段加锁，不同组的更新互不阻塞。
+ * 每项记录一个按时间分桶的滑动窗口（4个桶，每桶16位计数），以及渐进延迟和锁定的截止时间。
+ * 尝试在开始时即按失败计数（检查和计数在同一把锁内完成），并发的尝试无法同时通过检查；
+ * 尝试成功或未得出结果时再撤销或清除
+ */
+final class AttemptTable {
+
+    private static final int WAYS = 4;
+
+    private static final int BUCKETS = 4;
+
+    private static final int BUCKET_BITS = 16;
+
+    private static final long BUCKET_MAX = 0xFFFFL;
+
+    private static final int STRIPES = 256;
+
+    /**
+     * 连续锁定时锁定时长最多翻倍的次数
+     */
+    private static final int MAX_LOCK_DOUBLINGS = 4;
+
+    private final long[] keys;
+
+    /**
+     * 4个16位桶，低位为最新的桶
+     */
+    private final long[] counts;
+
+    /**
+     * 最新桶的序号（时间 / 桶长度）
+     */
+    private final int[] epochs;
+
+    /**
+     * 渐进延迟：在此时间之前的尝试被拒绝
+     */
+    private final long[] notBefore;
+
+    /**
+     * 锁定截止时间
+     */
+    private final long[] lockedUntil;
+
+    /**
+     * 连续锁定次数，登录成功时清零
+     */
+    private final byte[] lockouts;
+
+    private final Object[] locks = new Object[STRIPES];
+
+    private final int setMask;
+
+    private final long seed = ThreadLocalRandom.current().nextLong();
+
+    private final long bucketMillis;
+
+    private final int freeAttempts;
+
+    private final int maxFailures;
+
+    private final long baseDelayMillis;
+
+    private final long maxDelayMillis;
+
+    private final long lockMillis;
+
+    /**
+     * 触发锁定的次数
+     */
+    private final LongAdder lockoutCount = new LongAdder();
+
+    /**
+     * @param capacity 容量（向下取整为4的2次幂倍）
+     * @param windowMillis 滑动窗口长度
+     * @param freeAttempts 窗口内无延迟的失败次数
+     * @param maxFailures 窗口内失败达到该次数时锁定
+     * @param baseDelayMillis 超过免延迟次数后的首次延迟，之后每次失败翻倍，0表示不延迟
+     * @param maxDelayMillis 最大延迟
+     * @param lockMillis 首次锁定时长，连续锁定时翻倍
+     */
+    AttemptTable(int capacity, long windowMillis, int freeAttempts, int maxFailures,
+                 long baseDelayMillis, long maxDelayMillis, long lockMillis) {
+        int sets = Integer.highestOneBit(Math.max(capacity / WAYS, STRIPES));
+        this.setMask = sets - 1;
+        int slots = sets * WAYS;
+        this.keys = new long[slots];
+        this.counts = new long[slots];
+        this.epochs = new int[slots];
+        this.notBefore = new long[slots];
+        this.lockedUntil = new long[slots];
+        this.lockouts = new byte[slots];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.bucketMillis = Math.max(1, windowMillis / BUCKETS);
+        this.freeAttempts = freeAttempts;
+        this.maxFailures = maxFailures;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.lockMillis = lockMillis;
+    }
+
+    /**
+     * 查询当前是否允许尝试（不计数）
+     * @param key 键
+     * @param now 当前时间（毫秒）
+     * @return 拒绝信息，允许时返回null
+     */
+    Block check(String key, long now) {
+        long hash = hash(key);
+        int set = (int) hash & setMask;
+        synchronized (locks[set & (STRIPES - 1)]) {
+            int slot = find(set, hash);
+            if (slot < 0) {
+                return null;
+            }
+            return blockOf(slot, now);
+        }
+    }
+
+    /**
+     * 检查并预占一次尝试：允许时立即按失败计数，必要时为之后的尝试设置延迟或锁定
+     * @param key 键
+     * @param now 当前时间（毫秒）
+     * @return 拒绝信息（未计数），允许时返回null
+     */
+    Block tryAcquire(String key, long now) {
+        long hash = hash(key);
+        int set = (int) hash & setMask;
+        int epoch = (int) (now / bucketMillis);
+        synchronized (locks[set & (STRIPES - 1)]) {
+            int slot = find(set, hash);
+            if (slot >= 0) {
+                Block block = blockOf(slot, now);
+                if (block != null) {
+                    return block;
+                }
+            } else {
+                slot = claim(set, hash, epoch, now);
+            }
+            int failures = addFailure(slot, epoch);
+            if (failures >= maxFailures) {
+                int doublings = Math.min(lockouts[slot], MAX_LOCK_DOUBLINGS);
+                lockedUntil[slot] = now + (lockMillis << doublings);
+                if (lockouts[slot] < Byte.MAX_VALUE) {
+                    lockouts[slot]++;
+                }
+                lockoutCount.increment();
+                // 锁定后重新计数
+                counts[slot] = 0;
+            } else if (baseDelayMillis > 0 && failures > freeAttempts) {
+                int doublings = Math.min(failures - freeAttempts - 1, 20);
+                notBefore[slot] = now + Math.min(maxDelayMillis, baseDelayMillis << doublings);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 撤销一次预占的计数（尝试成功但不清除记录，或未得出结果），已设置的延迟和锁定保留
+     * @param key 键
+     */
+    void release(String key) {
+        long hash = hash(key);
+        int set = (int) hash & setMask;
+        synchronized (locks[set & (STRIPES - 1)]) {
+            int slot = find(set, hash);
+            if (slot < 0) {
+                return;
+            }
+            long buckets = counts[slot];
+            for (int i = 0; i < BUCKETS; i++) {
+                int shift = BUCKET_BITS * i;
+                if (((buckets >>> shift) & BUCKET_MAX) > 0) {
+                    counts[slot] = buckets - (1L << shift);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 清除键的记录（登录成功）
+     * @param key 键
+     */
+    void reset(String key) {
+        long hash = hash(key);
+        int set = (int) hash & setMask;
+        synchronized (locks[set & (STRIPES - 1)]) {
+            int slot = find(set, hash);
+            if (slot >= 0) {
+                clear(slot);
+            }
+        }
+    }
+
+    /**
+     * 触发锁定的累计次数
+     * @return 次数
+     */
+    long lockoutCount() {
+        return lockoutCount.sum();
+    }
+
+    /**
+     * 表的槽位数
+     * @return 容量
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    private Block blockOf(int slot, long now) {
+        if (lockedUntil[slot] > now) {
+            return new Block(true, lockedUntil[slot] - now);
+        }
+        if (notBefore[slot] > now) {
+            return new Block(false, notBefore[slot] - now);
+        }
+        return null;
+    }
+
+    private int find(int set, long hash) {
+        int base = set * WAYS;
+        for (int i = base; i < base + WAYS; i++) {
+            if (keys[i] == hash) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 为新键分配槽位：优先空槽，其次最久未活动且未封禁的项，组内全部封禁时淘汰最久未活动的项
+     */
+    private int claim(int set, long hash, int epoch, long now) {
+        int base = set * WAYS;
+        int victim = -1;
+        int victimBlocked = -1;
+        for (int i = base; i < base + WAYS; i++) {
+            if (keys[i] == 0) {
+                victim = i;
+                break;
+            }
+            boolean blocked = lockedUntil[i] > now || notBefore[i] > now;
+            if (!blocked && (victim < 0 || epochs[i] < epochs[victim])) {
+                victim = i;
+            }
+            if (victimBlocked < 0 || epochs[i] < epochs[victimBlocked]) {
+                victimBlocked = i;
+            }
+        }
+        int slot = victim >= 0 ? victim : victimBlocked;
+        clear(slot);
+        keys[slot] = hash;
+        epochs[slot] = epoch;
+        return slot;
+    }
+
+    /**
+     * 窗口滑动到当前桶并计入一次失败
+     * @return 窗口内的失败次数
+     */
+    private int addFailure(int slot, int epoch) {
+        int shift = epoch - epochs[slot];
+        long buckets = counts[slot];
+        if (shift >= BUCKETS || shift < 0) {
+            buckets = 0;
+        } else if (shift > 0) {
+            buckets = buckets << (BUCKET_BITS * shift);
+        }
+        if ((buckets & BUCKET_MAX) < BUCKET_MAX) {
+            buckets++;
+        }
+        counts[slot] = buckets;
+        epochs[slot] = epoch;
+
+        int total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += (int) ((buckets >>> (BUCKET_BITS * i)) & BUCKET_MAX);
+        }
+        return total;
+    }
+
+    private void clear(int slot) {
+        keys[slot] = 0;
+        counts[slot] = 0;
+        epochs[slot] = 0;
+        notBefore[slot] = 0;
+        lockedUntil[slot] = 0;
+        lockouts[slot] = 0;
+    }
+
+    /**
+     * 带随机种子的64位哈希，避免构造碰撞把其他键挤出表
+     */
+    private long hash(String key) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * 拒绝信息
+     */
+    static final class Block {
+
+        final boolean locked;
+
+        final long retryAfterMillis;
+
+        Block(boolean locked, long retryAfterMillis) {
+            this.locked = locked;
+            this.retryAfterMillis = retryAfterMillis;
+        }
+    }
+}
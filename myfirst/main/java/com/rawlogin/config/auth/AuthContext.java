@@ -0,0 +1,63 @@
+package com.rawlogin.config.auth;
+
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * 授权上下文
+ * 持有当前请求的主体信息，用户权限位图在首次需要时才加载
+ */
+public class AuthContext {
+
+    private final Integer userId;
+
+    private final String role;
+
+    private final HttpServletRequest request;
+
+    private final PermissionEvaluator permissionEvaluator;
+
+    private BitSet permissions;
+
+    public AuthContext(Integer userId, String role, HttpServletRequest request,
+                       PermissionEvaluator permissionEvaluator) {
+        this.userId = userId;
+        this.role = role;
+        this.request = request;
+        this.permissionEvaluator = permissionEvaluator;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * 获取用户权限位图（每个请求最多加载一次）
+     * @return 权限位图
+     */
+    public BitSet getPermissions() {
+        if (permissions == null) {
+            permissions = userId != null ? permissionEvaluator.loadPermissions(userId) : new BitSet();
+        }
+        return permissions;
+    }
+
+    /**
+     * 获取路径变量，由处理器匹配时写入请求属性
+     * @param name 变量名
+     * @return 变量值，不存在时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public String getPathVariable(String name) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables != null ? variables.get(name) : null;
+    }
+}
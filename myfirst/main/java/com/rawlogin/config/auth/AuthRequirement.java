@@ -0,0 +1,60 @@
+package com.rawlogin.config.auth;
+
+/**
+ * 处理器方法的认证授权要求
+ * 由类级和方法级@PreAuthorize注解在启动时合并、预编译得到
+ */
+public class AuthRequirement {
+
+    /**
+     * 是否需要认证
+     */
+    private final boolean authenticated;
+
+    /**
+     * 编译后的权限表达式，无需校验权限时为null
+     */
+    private final PermissionExpression expression;
+
+    /**
+     * 权限表达式原文
+     */
+    private final String expressionText;
+
+    /**
+     * 权限不足时的响应体（预先序列化）
+     */
+    private final byte[] forbiddenBody;
+
+    public AuthRequirement(boolean authenticated, PermissionExpression expression, String expressionText,
+                           byte[] forbiddenBody) {
+        this.authenticated = authenticated;
+        this.expression = expression;
+        this.expressionText = expressionText;
+        this.forbiddenBody = forbiddenBody;
+    }
+
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    /**
+     * 是否需要校验权限
+     * @return 是否需要校验权限
+     */
+    public boolean requiresPermission() {
+        return expression != null;
+    }
+
+    public PermissionExpression getExpression() {
+        return expression;
+    }
+
+    public String getExpressionText() {
+        return expressionText;
+    }
+
+    public byte[] getForbiddenBody() {
+        return forbiddenBody;
+    }
+}
@@ -0,0 +1,227 @@
+package com.rawlogin.config.auth;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rawlogin.common.Result;
+import com.rawlogin.common.ResultCode;
+import com.rawlogin.config.annotation.PreAuthorize;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.server.RequestPath;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 认证授权要求注册表
+ * 启动时扫描com.rawlogin.interfaces下所有控制器的处理器方法，合并类级和方法级@PreAuthorize注解，
+ * 将权限表达式编译为求值树并校验其引用的权限代码和路径变量（配置错误时启动失败）；
+ * 每个处理器方法分配一个ID，运行时按ID直接从数组中取出预编译的要求。
+ * 未标注的接口默认需要认证，公开接口须显式标注@PreAuthorize(authenticated = false)
+ */
+@Component
+public class AuthRequirementRegistry implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthRequirementRegistry.class);
+
+    /**
+     * 需要扫描的控制器包
+     */
+    private static final String CONTROLLER_PACKAGE = "com.rawlogin.interfaces.";
+
+    private static final Pattern PATH_VARIABLE = Pattern.compile("\\{([^}:]+)");
+
+    private final ApplicationContext applicationContext;
+
+    private final ObjectMapper objectMapper;
+
+    private final PermissionCatalog permissionCatalog;
+
+    private volatile RequestMappingHandlerMapping handlerMapping;
+
+    /**
+     * 处理器方法 -> 处理器ID
+     */
+    private volatile Map<Method, Integer> handlerIds = new IdentityHashMap<>();
+
+    /**
+     * 处理器ID -> 认证授权要求
+     */
+    private volatile AuthRequirement[] requirements = new AuthRequirement[0];
+
+    public AuthRequirementRegistry(ApplicationContext applicationContext, ObjectMapper objectMapper,
+                                   PermissionCatalog permissionCatalog) {
+        this.applicationContext = applicationContext;
+        this.objectMapper = objectMapper;
+        this.permissionCatalog = permissionCatalog;
+    }
+
+    /**
+     * 所有单例创建完成后编译处理器方法的认证授权要求
+     * @throws IllegalStateException 权限表达式有误
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        RequestMappingHandlerMapping mapping = applicationContext.getBean(
+                "requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        permissionCatalog.reload();
+        PermissionExpressionParser parser = new PermissionExpressionParser(permissionCatalog);
+
+        Map<Method, Integer> ids = new IdentityHashMap<>();
+        List<AuthRequirement> compiled = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : mapping.getHandlerMethods().entrySet()) {
+            HandlerMethod handlerMethod = entry.getValue();
+            Class<?> beanType = handlerMethod.getBeanType();
+            if (!beanType.getName().startsWith(CONTROLLER_PACKAGE) || ids.containsKey(handlerMethod.getMethod())) {
+                continue;
+            }
+
+            PreAuthorize classLevel = AnnotatedElementUtils.findMergedAnnotation(beanType, PreAuthorize.class);
+            PreAuthorize methodLevel = handlerMethod.getMethodAnnotation(PreAuthorize.class);
+            if (classLevel == null && methodLevel == null) {
+                continue;
+            }
+
+            AuthRequirement requirement = compile(parser, handlerMethod, pathVariables(entry.getKey()),
+                    classLevel, methodLevel, errors);
+            if (!requirement.isAuthenticated()) {
+                logger.info("公开接口（无需认证）: {}#{}", beanType.getSimpleName(), handlerMethod.getMethod().getName());
+            }
+            ids.put(handlerMethod.getMethod(), compiled.size());
+            compiled.add(requirement);
+        }
+
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("@PreAuthorize配置错误:\n" + String.join("\n", errors));
+        }
+
+        this.requirements = compiled.toArray(new AuthRequirement[0]);
+        this.handlerIds = ids;
+        this.handlerMapping = mapping;
+        logger.info("已编译 {} 个处理器方法的权限要求", compiled.size());
+    }
+
+    /**
+     * 解析请求对应的处理器方法
+     * @param request HTTP请求
+     * @return 处理器方法，未匹配到时返回null
+     */
+    public HandlerMethod resolveHandler(HttpServletRequest request) {
+        RequestMappingHandlerMapping mapping = this.handlerMapping;
+        if (mapping == null) {
+            return null;
+        }
+
+        // 与DispatcherServlet一致：先解析并缓存请求路径，匹配完成后还原
+        RequestPath previousPath = (RequestPath) request.getAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE);
+        ServletRequestPathUtils.parseAndCache(request);
+        try {
+            HandlerExecutionChain chain = mapping.getHandler(request);
+            if (chain != null && chain.getHandler() instanceof HandlerMethod) {
+                return (HandlerMethod) chain.getHandler();
+            }
+            return null;
+        } catch (Exception e) {
+            // 匹配失败交给DispatcherServlet按原流程处理（如404、405）
+            return null;
+        } finally {
+            ServletRequestPathUtils.setParsedRequestPath(previousPath, request);
+        }
+    }
+
+    /**
+     * 获取处理器方法的认证授权要求
+     * @param handlerMethod 处理器方法
+     * @return 认证授权要求，未标注@PreAuthorize或未匹配到处理器时返回null（按需要认证、不校验权限处理）
+     */
+    public AuthRequirement getRequirement(HandlerMethod handlerMethod) {
+        if (handlerMethod == null) {
+            return null;
+        }
+        Integer handlerId = handlerIds.get(handlerMethod.getMethod());
+        return handlerId == null ? null : requirements[handlerId];
+    }
+
+    /**
+     * 合并类级和方法级注解并编译为认证授权要求
+     * 任一级别要求认证即需要认证，两级声明的权限表达式需同时满足
+     * @param parser 权限表达式解析器
+     * @param handlerMethod 处理器方法
+     * @param pathVariables 处理器映射声明的路径变量名
+     * @param classLevel 类级注解
+     * @param methodLevel 方法级注解
+     * @param errors 错误收集列表
+     * @return 认证授权要求
+     */
+    private AuthRequirement compile(PermissionExpressionParser parser, HandlerMethod handlerMethod,
+                                    Set<String> pathVariables, PreAuthorize classLevel, PreAuthorize methodLevel,
+                                    List<String> errors) {
+        boolean authenticated = (classLevel != null && classLevel.authenticated())
+                || (methodLevel != null && methodLevel.authenticated());
+
+        List<String> sources = new ArrayList<>(2);
+        List<PermissionExpression> expressions = new ArrayList<>(2);
+        for (PreAuthorize preAuthorize : new PreAuthorize[]{classLevel, methodLevel}) {
+            if (preAuthorize == null || preAuthorize.value().trim().isEmpty()
+                    || sources.contains(preAuthorize.value().trim())) {
+                continue;
+            }
+            String source = preAuthorize.value().trim();
+            try {
+                expressions.add(parser.parse(source, pathVariables));
+                sources.add(source);
+            } catch (IllegalArgumentException e) {
+                errors.add(handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName()
+                        + ": " + e.getMessage());
+            }
+        }
+        if (expressions.isEmpty()) {
+            return new AuthRequirement(authenticated, null, null, null);
+        }
+
+        String expressionText = String.join(",", sources);
+        try {
+            byte[] forbiddenBody = objectMapper.writeValueAsBytes(
+                    Result.error(ResultCode.FORBIDDEN, "权限不足，需要权限：" + expressionText));
+            // 需要权限校验的接口必然需要认证
+            return new AuthRequirement(true, PermissionExpressionParser.all(
+                    expressions.toArray(new PermissionExpression[0])), expressionText, forbiddenBody);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("无法序列化权限错误响应: " + expressionText, e);
+        }
+    }
+
+    /**
+     * 提取映射路径中声明的路径变量名
+     * @param info 请求映射信息
+     * @return 路径变量名
+     */
+    private Set<String> pathVariables(RequestMappingInfo info) {
+        Set<String> names = new HashSet<>();
+        for (String pattern : info.getPatternValues()) {
+            Matcher matcher = PATH_VARIABLE.matcher(pattern);
+            while (matcher.find()) {
+                names.add(matcher.group(1).trim());
+            }
+        }
+        return names;
+    }
+}
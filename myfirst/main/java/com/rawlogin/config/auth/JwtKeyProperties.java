@@ -0,0 +1,62 @@
+package com.rawlogin.config.auth;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JWT签名密钥环配置（jwt.keys[*]）
+ * jwt.secret（或jwt.ec.*）对应的原有密钥始终在环中，生效时间最早；
+ * 其余密钥按生效时间轮换：到达生效时间后新令牌改用该密钥签名，
+ * 旧密钥在其签发的令牌全部过期后才移出环。所有实例使用相同配置即可同时无缝切换
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt")
+public class JwtKeyProperties {
+
+    /**
+     * 轮换密钥，可提前配置尚未生效的密钥（提前发布到JWKS）
+     */
+    private List<Key> keys = new ArrayList<>();
+
+    /**
+     * 单个密钥
+     */
+    @Data
+    public static class Key {
+
+        /**
+         * 密钥ID，写入令牌头kid，不可重复
+         */
+        private String kid;
+
+        /**
+         * 签名算法：HS256或ES256
+         */
+        private String algorithm = "HS256";
+
+        /**
+         * HS256密钥（至少32字节）
+         */
+        private String secret;
+
+        /**
+         * ES256私钥（PKCS#8，PEM或Base64），只配置公钥时该密钥仅用于校验
+         */
+        private String privateKey;
+
+        /**
+         * ES256公钥（X.509，PEM或Base64）
+         */
+        private String publicKey;
+
+        /**
+         * 生效时间（ISO-8601，如 2026-11-01T00:00:00Z）
+         */
+        private String activateAt;
+    }
+}
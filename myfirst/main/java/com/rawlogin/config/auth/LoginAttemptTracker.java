@@ -0,0 +1,218 @@
+package com.rawlogin.config.auth;
+
+import com.rawlogin.common.ResultCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * 登录失败跟踪器
+ * 按用户名和客户端IP分别统计滑动窗口内的失败次数：
+ * 用户名超过免延迟次数后每次失败的等待时间翻倍，达到上限时临时锁定（连续锁定时锁定时长翻倍）；
+ * 单个IP失败过多时封禁该IP。被拒绝的尝试在查库和BCrypt校验之前返回。
+ * 尝试在放行时即预占计数（检查和计数原子完成），同一用户名的并发猜测不能绕过延迟和锁定；
+ * 尝试结束后按结果确认、清除或撤销。
+ * 计数表容量固定，内存占用不随用户名/IP数量增长（每项约37字节）
+ */
+@Component
+public class LoginAttemptTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptTracker.class);
+
+    private static final Counter lockedCounter = Counter.builder("rawlogin.login.guard.rejected")
+            .tag("reason", "account_locked")
+            .register(Metrics.globalRegistry);
+
+    private static final Counter throttledCounter = Counter.builder("rawlogin.login.guard.rejected")
+            .tag("reason", "throttled")
+            .register(Metrics.globalRegistry);
+
+    private static final Counter ipBlockedCounter = Counter.builder("rawlogin.login.guard.rejected")
+            .tag("reason", "ip_blocked")
+            .register(Metrics.globalRegistry);
+
+    @Value("${rawlogin.login-guard.capacity:1048576}")
+    private int capacity;
+
+    @Value("${rawlogin.login-guard.window:15m}")
+    private Duration window;
+
+    @Value("${rawlogin.login-guard.free-attempts:3}")
+    private int freeAttempts;
+
+    @Value("${rawlogin.login-guard.base-delay:1s}")
+    private Duration baseDelay;
+
+    @Value("${rawlogin.login-guard.max-delay:30s}")
+    private Duration maxDelay;
+
+    @Value("${rawlogin.login-guard.max-failures-per-user:10}")
+    private int maxFailuresPerUser;
+
+    @Value("${rawlogin.login-guard.max-failures-per-ip:100}")
+    private int maxFailuresPerIp;
+
+    @Value("${rawlogin.login-guard.lock-duration:15m}")
+    private Duration lockDuration;
+
+    private AttemptTable users;
+
+    private AttemptTable clients;
+
+    /**
+     * 初始化计数表
+     */
+    @PostConstruct
+    public void init() {
+        this.users = new AttemptTable(capacity, window.toMillis(), freeAttempts, maxFailuresPerUser,
+                baseDelay.toMillis(), maxDelay.toMillis(), lockDuration.toMillis());
+        this.clients = new AttemptTable(capacity, window.toMillis(), maxFailuresPerIp, maxFailuresPerIp,
+                0, 0, lockDuration.toMillis());
+        FunctionCounter.builder("rawlogin.login.guard.lockouts", users, AttemptTable::lockoutCount)
+                .register(Metrics.globalRegistry);
+        logger.info("登录失败跟踪器: 每个维度 {} 项，窗口 {}", users.capacity(), window);
+    }
+
+    /**
+     * 检查并预占本次登录尝试，放行的尝试先按失败计数；
+     * 放行后必须调用recordFailure、recordSuccess或release之一结束
+     * @param username 用户名
+     * @param clientIp 客户端IP（可为null）
+     * @return 拒绝原因，允许时返回null
+     */
+    public Rejection acquire(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        if (clientIp != null) {
+            AttemptTable.Block block = clients.tryAcquire(clientIp, now);
+            if (block != null) {
+                ipBlockedCounter.increment();
+                return Rejection.of(block, false);
+            }
+        }
+        AttemptTable.Block block = users.tryAcquire(normalize(username), now);
+        if (block == null) {
+            return null;
+        }
+        if (clientIp != null) {
+            clients.release(clientIp);
+        }
+        (block.locked ? lockedCounter : throttledCounter).increment();
+        return Rejection.of(block, true);
+    }
+
+    /**
+     * 查询当前的拒绝原因（不计数），用于给被拒绝的请求计算Retry-After
+     * @param username 用户名
+     * @param clientIp 客户端IP（可为null）
+     * @return 拒绝原因，当前允许时返回null
+     */
+    public Rejection peek(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        if (clientIp != null) {
+            AttemptTable.Block block = clients.check(clientIp, now);
+            if (block != null) {
+                return Rejection.of(block, false);
+            }
+        }
+        AttemptTable.Block block = users.check(normalize(username), now);
+        return block != null ? Rejection.of(block, true) : null;
+    }
+
+    /**
+     * 确认一次失败的登录（用户不存在或密码错误），计数已在预占时完成
+     * @param username 用户名
+     * @param clientIp 客户端IP（可为null）
+     */
+    public void recordFailure(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        AttemptTable.Block block = users.check(normalize(username), now);
+        if (block != null && block.locked) {
+            logger.warn("账号登录失败次数过多，已临时锁定: {} {} 秒", username, block.retryAfterMillis / 1000);
+        }
+        if (clientIp != null) {
+            AttemptTable.Block ipBlock = clients.check(clientIp, now);
+            if (ipBlock != null && ipBlock.locked) {
+                logger.warn("客户端登录失败次数过多，已临时封禁: {}", clientIp);
+            }
+        }
+    }
+
+    /**
+     * 登录成功：清除该用户名的失败记录，撤销IP维度预占的计数（IP的其他记录保留）
+     * @param username 用户名
+     * @param clientIp 客户端IP（可为null）
+     */
+    public void recordSuccess(String username, String clientIp) {
+        users.reset(normalize(username));
+        if (clientIp != null) {
+            clients.release(clientIp);
+        }
+    }
+
+    /**
+     * 尝试未得出结果（如查库异常），撤销预占的计数
+     * @param username 用户名
+     * @param clientIp 客户端IP（可为null）
+     */
+    public void release(String username, String clientIp) {
+        users.release(normalize(username));
+        if (clientIp != null) {
+            clients.release(clientIp);
+        }
+    }
+
+    /**
+     * 用户名大小写不敏感（与数据库排序规则一致）
+     */
+    private String normalize(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 登录尝试被拒绝的原因
+     */
+    public static final class Rejection {
+
+        private final int code;
+
+        private final String message;
+
+        private final long retryAfterSeconds;
+
+        private Rejection(int code, String message, long retryAfterSeconds) {
+            this.code = code;
+            this.message = message;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        static Rejection of(AttemptTable.Block block, boolean account) {
+            long seconds = Math.max(1, (block.retryAfterMillis + 999) / 1000);
+            if (account && block.locked) {
+                return new Rejection(ResultCode.ACCOUNT_LOCKED,
+                        "登录失败次数过多，账号已临时锁定，请 " + seconds + " 秒后再试", seconds);
+            }
+            return new Rejection(ResultCode.TOO_MANY_REQUESTS,
+                    "登录尝试过于频繁，请 " + seconds + " 秒后再试", seconds);
+        }
+
+        public int getCode() {
+            return code;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
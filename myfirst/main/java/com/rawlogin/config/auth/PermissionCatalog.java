@@ -0,0 +1,91 @@
+package com.rawlogin.config.auth;
+
+import com.rawlogin.infrastructure.persistence.PermissionMapper;
+import com.rawlogin.infrastructure.po.PermissionPO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 权限目录
+ * 将permissions表中的权限代码映射为连续的序号，
+ * 用户权限集合以BitSet表示，权限判断只需一次位运算
+ */
+@Component
+public class PermissionCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionCatalog.class);
+
+    @Autowired
+    private PermissionMapper permissionMapper;
+
+    /**
+     * 权限代码 -> 序号
+     */
+    private volatile Map<String, Integer> ordinals;
+
+    /**
+     * 从数据库重新加载权限目录
+     */
+    public void reload() {
+        List<PermissionPO> permissions = permissionMapper.findAll();
+        Map<String, Integer> loaded = new HashMap<>(permissions.size() * 2);
+        for (PermissionPO permission : permissions) {
+            if (permission.getCode() != null && !loaded.containsKey(permission.getCode())) {
+                loaded.put(permission.getCode(), loaded.size());
+            }
+        }
+        this.ordinals = loaded;
+        logger.info("已加载 {} 个权限代码", loaded.size());
+    }
+
+    /**
+     * 获取权限代码的序号
+     * @param code 权限代码
+     * @return 序号，不存在时返回-1
+     */
+    public int ordinalOf(String code) {
+        Integer ordinal = ordinals().get(code);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * 将权限列表转换为序号位图
+     * @param permissions 权限列表
+     * @return 权限位图
+     */
+    public BitSet toBitSet(Collection<PermissionPO> permissions) {
+        Map<String, Integer> current = ordinals();
+        BitSet bits = new BitSet(current.size());
+        if (permissions == null) {
+            return bits;
+        }
+        for (PermissionPO permission : permissions) {
+            Integer ordinal = current.get(permission.getCode());
+            if (ordinal != null) {
+                bits.set(ordinal);
+            }
+        }
+        return bits;
+    }
+
+    private Map<String, Integer> ordinals() {
+        Map<String, Integer> current = ordinals;
+        if (current == null) {
+            synchronized (this) {
+                if (ordinals == null) {
+                    reload();
+                }
+                current = ordinals;
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,96 @@
+package com.rawlogin.config.auth;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 权限判定器
+ * 根据用户的角色权限判断是否拥有指定权限，权限集合以序号位图表示，由权限存储缓存
+ */
+@Component
+public class PermissionEvaluator {
+    
+    @Autowired
+    private PermissionStore permissionStore;
+
+    @Autowired
+    private PermissionCatalog permissionCatalog;
+    
+    /**
+     * 检查用户是否有指定权限
+     * @param userId 用户ID
+     * @param requiredPermission 需要的权限
+     * @return 是否有权限
+     */
+    public boolean hasPermission(Integer userId, String requiredPermission) {
+        if (userId == null || requiredPermission == null) {
+            return false;
+        }
+        int ordinal = permissionCatalog.ordinalOf(requiredPermission);
+        return ordinal >= 0 && loadPermissions(userId).get(ordinal);
+    }
+
+    /**
+     * 检查用户是否同时具备全部权限
+     * @param userId 用户ID
+     * @param permissionOrdinals 权限序号
+     * @return 是否有权限
+     */
+    public boolean hasAll(Integer userId, int[] permissionOrdinals) {
+        if (userId == null) {
+            return false;
+        }
+        BitSet granted = loadPermissions(userId);
+        for (int ordinal : permissionOrdinals) {
+            if (ordinal < 0 || !granted.get(ordinal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 批量判定（用户, 权限）对，缓存未命中的用户合并为一次查询加载
+     * @param userIds 用户ID
+     * @param permissionCodes 权限代码，与用户ID一一对应
+     * @return 判定结果，与输入顺序一致；未知的权限代码和不存在的用户判定为无权限
+     */
+    public boolean[] hasPermissions(List<Integer> userIds, List<String> permissionCodes) {
+        boolean[] decisions = new boolean[userIds.size()];
+        int[] ordinals = new int[decisions.length];
+        Set<Integer> needed = new HashSet<>();
+        for (int i = 0; i < decisions.length; i++) {
+            Integer userId = userIds.get(i);
+            String code = permissionCodes.get(i);
+            ordinals[i] = userId != null && code != null ? permissionCatalog.ordinalOf(code) : -1;
+            if (ordinals[i] >= 0) {
+                needed.add(userId);
+            }
+        }
+        if (needed.isEmpty()) {
+            return decisions;
+        }
+
+        Map<Integer, BitSet> loaded = permissionStore.getAll(needed);
+        for (int i = 0; i < decisions.length; i++) {
+            decisions[i] = ordinals[i] >= 0 && loaded.get(userIds.get(i)).get(ordinals[i]);
+        }
+        return decisions;
+    }
+
+    /**
+     * 加载用户权限位图
+     * @param userId 用户ID
+     * @return 权限位图（只读）
+     * @throws com.rawlogin.exception.DatabaseUnavailableException 数据库不可用且没有足够新的权限数据
+     */
+    public BitSet loadPermissions(Integer userId) {
+        return permissionStore.get(userId);
+    }
+}
@@ -0,0 +1,24 @@
+package com.rawlogin.config.auth;
+
+/**
+ * 编译后的权限表达式
+ * 由{@link PermissionExpressionParser}在启动时解析@PreAuthorize得到，运行时只做求值
+ */
+public interface PermissionExpression {
+
+    /**
+     * 对当前请求主体求值
+     * @param context 授权上下文
+     * @return 是否通过
+     */
+    boolean evaluate(AuthContext context);
+
+    /**
+     * 求值是否需要加载用户权限（需要查询数据库）
+     * 组合表达式据此将只依赖令牌信息的子表达式排在前面
+     * @return 是否需要加载用户权限
+     */
+    default boolean requiresPermissions() {
+        return false;
+    }
+}
@@ -0,0 +1,319 @@
+package com.rawlogin.config.auth;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 权限表达式解析器
+ * 支持的语法：
+ * <pre>
+ * expr := code | any(expr, ...) | all(expr, ...) | self(#pathVariable) | role(ROLE_CODE)
+ * </pre>
+ * 权限代码在解析时转换为权限序号，未知代码、未声明的路径变量和语法错误都会在启动时报出
+ */
+public class PermissionExpressionParser {
+
+    private static final Comparator<PermissionExpression> CHEAP_FIRST =
+            Comparator.comparing(PermissionExpression::requiresPermissions);
+
+    private final PermissionCatalog permissionCatalog;
+
+    public PermissionExpressionParser(PermissionCatalog permissionCatalog) {
+        this.permissionCatalog = permissionCatalog;
+    }
+
+    /**
+     * 解析权限表达式
+     * @param source 表达式文本
+     * @param pathVariables 处理器映射声明的路径变量名
+     * @return 编译后的表达式
+     * @throws IllegalArgumentException 表达式有误，消息中列出所有问题
+     */
+    public PermissionExpression parse(String source, Set<String> pathVariables) {
+        Parser parser = new Parser(source, pathVariables);
+        PermissionExpression expression = parser.parseExpression();
+        parser.skipWhitespace();
+        if (parser.pos < source.length()) {
+            throw parser.syntaxError("多余的字符");
+        }
+        if (!parser.problems.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", parser.problems));
+        }
+        return expression;
+    }
+
+    /**
+     * 组合多个表达式，要求全部通过
+     * @param expressions 表达式
+     * @return 组合后的表达式
+     */
+    public static PermissionExpression all(PermissionExpression... expressions) {
+        if (expressions.length == 1) {
+            return expressions[0];
+        }
+        PermissionExpression[] operands = expressions.clone();
+        Arrays.sort(operands, CHEAP_FIRST);
+        return new AllExpression(operands);
+    }
+
+    /**
+     * 组合多个表达式，要求任一通过
+     * @param expressions 表达式
+     * @return 组合后的表达式
+     */
+    public static PermissionExpression any(PermissionExpression... expressions) {
+        if (expressions.length == 1) {
+            return expressions[0];
+        }
+        PermissionExpression[] operands = expressions.clone();
+        Arrays.sort(operands, CHEAP_FIRST);
+        return new AnyExpression(operands);
+    }
+
+    /**
+     * 单次解析的状态
+     */
+    private class Parser {
+
+        private final String source;
+
+        private final Set<String> pathVariables;
+
+        private final List<String> problems = new ArrayList<>();
+
+        private int pos;
+
+        Parser(String source, Set<String> pathVariables) {
+            this.source = source;
+            this.pathVariables = pathVariables != null ? pathVariables : Collections.emptySet();
+        }
+
+        PermissionExpression parseExpression() {
+            skipWhitespace();
+            int start = pos;
+            String name = readToken();
+            if (name.isEmpty()) {
+                throw syntaxError("缺少表达式");
+            }
+            skipWhitespace();
+            if (!consume('(')) {
+                return permission(name, start);
+            }
+
+            PermissionExpression expression;
+            switch (name) {
+                case "any":
+                    expression = any(parseOperands());
+                    break;
+                case "all":
+                    expression = all(parseOperands());
+                    break;
+                case "self":
+                    expression = self(start);
+                    break;
+                case "role":
+                    expression = role();
+                    break;
+                default:
+                    throw syntaxError("未知函数 '" + name + "'");
+            }
+            skipWhitespace();
+            if (!consume(')')) {
+                throw syntaxError("缺少 ')'");
+            }
+            return expression;
+        }
+
+        private PermissionExpression[] parseOperands() {
+            List<PermissionExpression> operands = new ArrayList<>();
+            do {
+                operands.add(parseExpression());
+                skipWhitespace();
+            } while (consume(','));
+            return operands.toArray(new PermissionExpression[0]);
+        }
+
+        private PermissionExpression permission(String code, int start) {
+            int ordinal = permissionCatalog.ordinalOf(code);
+            if (ordinal < 0) {
+                problems.add("权限代码不存在 '" + code + "' (位置 " + start + ")");
+            }
+            return new PermissionCodeExpression(ordinal);
+        }
+
+        private PermissionExpression self(int start) {
+            skipWhitespace();
+            if (!consume('#')) {
+                throw syntaxError("self需要路径变量参数，如 self(#id)");
+            }
+            String variable = readToken();
+            if (variable.isEmpty()) {
+                throw syntaxError("缺少路径变量名");
+            }
+            if (!pathVariables.contains(variable)) {
+                problems.add("路径变量不存在 '#" + variable + "' (位置 " + start + ")");
+            }
+            return new SelfExpression(variable);
+        }
+
+        private PermissionExpression role() {
+            skipWhitespace();
+            String role = readToken();
+            if (role.isEmpty()) {
+                throw syntaxError("缺少角色代码");
+            }
+            return new RoleExpression(role);
+        }
+
+        private String readToken() {
+            int start = pos;
+            while (pos < source.length() && isTokenChar(source.charAt(pos))) {
+                pos++;
+            }
+            return source.substring(start, pos);
+        }
+
+        private boolean isTokenChar(char c) {
+            return Character.isLetterOrDigit(c) || c == ':' || c == '_' || c == '-' || c == '.' || c == '*';
+        }
+
+        private boolean consume(char expected) {
+            if (pos < source.length() && source.charAt(pos) == expected) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void skipWhitespace() {
+            while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        IllegalArgumentException syntaxError(String message) {
+            return new IllegalArgumentException(message + " (位置 " + pos + "): " + source);
+        }
+    }
+
+    /**
+     * 具备指定权限
+     */
+    private static final class PermissionCodeExpression implements PermissionExpression {
+
+        private final int ordinal;
+
+        PermissionCodeExpression(int ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public boolean evaluate(AuthContext context) {
+            return ordinal >= 0 && context.getPermissions().get(ordinal);
+        }
+
+        @Override
+        public boolean requiresPermissions() {
+            return true;
+        }
+    }
+
+    /**
+     * 当前用户即路径变量指定的用户
+     */
+    private static final class SelfExpression implements PermissionExpression {
+
+        private final String variable;
+
+        SelfExpression(String variable) {
+            this.variable = variable;
+        }
+
+        @Override
+        public boolean evaluate(AuthContext context) {
+            Integer userId = context.getUserId();
+            return userId != null && userId.toString().equals(context.getPathVariable(variable));
+        }
+    }
+
+    /**
+     * 当前用户为指定角色
+     */
+    private static final class RoleExpression implements PermissionExpression {
+
+        private final String role;
+
+        RoleExpression(String role) {
+            this.role = role;
+        }
+
+        @Override
+        public boolean evaluate(AuthContext context) {
+            return role.equals(context.getRole());
+        }
+    }
+
+    /**
+     * 全部子表达式通过
+     */
+    private static final class AllExpression implements PermissionExpression {
+
+        private final PermissionExpression[] operands;
+
+        private final boolean requiresPermissions;
+
+        AllExpression(PermissionExpression[] operands) {
+            this.operands = operands;
+            this.requiresPermissions = Arrays.stream(operands).anyMatch(PermissionExpression::requiresPermissions);
+        }
+
+        @Override
+        public boolean evaluate(AuthContext context) {
+            for (PermissionExpression operand : operands) {
+                if (!operand.evaluate(context)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean requiresPermissions() {
+            return requiresPermissions;
+        }
+    }
+
+    /**
+     * 任一子表达式通过
+     */
+    private static final class AnyExpression implements PermissionExpression {
+
+        private final PermissionExpression[] operands;
+
+        private final boolean requiresPermissions;
+
+        AnyExpression(PermissionExpression[] operands) {
+            this.operands = operands;
+            this.requiresPermissions = Arrays.stream(operands).anyMatch(PermissionExpression::requiresPermissions);
+        }
+
+        @Override
+        public boolean evaluate(AuthContext context) {
+            for (PermissionExpression operand : operands) {
+                if (operand.evaluate(context)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean requiresPermissions() {
+            return requiresPermissions;
+        }
+    }
+}
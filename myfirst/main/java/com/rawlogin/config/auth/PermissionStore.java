@@ -0,0 +1,387 @@
+package com.rawlogin.config.auth;
+
+import com.rawlogin.config.datasource.ReadWriteRoutingContext;
+import com.rawlogin.config.resilience.DatabaseCircuitBreaker;
+import com.rawlogin.exception.DatabaseUnavailableException;
+import com.rawlogin.infrastructure.persistence.PermissionMapper;
+import com.rawlogin.infrastructure.persistence.UserMapper;
+import com.rawlogin.infrastructure.po.UserPermissionPO;
+import com.rawlogin.infrastructure.repository.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 用户权限存储
+ * 缓存用户的权限位图：未超过有效期直接使用；超过有效期但在再验证窗口内时先返回旧值，后台异步刷新；
+ * 更旧的同步从数据库加载。数据库不可用（熔断器打开或连接失败）时，
+ * 继续使用最近一次加载的权限，陈旧时间超过上限后拒绝授权（503）。
+ * 权限总是从主库加载，避免失效后从复制延迟中的从库读回旧权限。
+ * 角色和用户角色变更时主动失效，失效的数据不再作为降级数据（被撤销的权限不会在降级时恢复）；
+ * 多实例部署时其他实例的变更最多延迟一个有效期生效。
+ * 返回的位图被多个请求共享，调用方不得修改
+ */
+@Component
+public class PermissionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionStore.class);
+
+    private static final Counter freshCounter = Counter.builder("rawlogin.permission.store")
+            .tag("result", "fresh")
+            .register(Metrics.globalRegistry);
+
+    private static final Counter revalidateCounter = Counter.builder("rawlogin.permission.store")
+            .tag("result", "stale_while_revalidate")
+            .register(Metrics.globalRegistry);
+
+    private static final Counter loadCounter = Counter.builder("rawlogin.permission.store")
+            .tag("result", "load")
+            .register(Metrics.globalRegistry);
+
+    private static final Counter staleIfErrorCounter = Counter.builder("rawlogin.permission.store")
+            .tag("result", "stale_if_error")
+            .register(Metrics.globalRegistry);
+
+    private static final Counter unavailableCounter = Counter.builder("rawlogin.permission.store")
+            .tag("result", "unavailable")
+            .register(Metrics.globalRegistry);
+
+    @Autowired
+    private PermissionMapper permissionMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private PermissionCatalog permissionCatalog;
+
+    @Autowired
+    private DatabaseCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private ReadWriteRoutingContext routingContext;
+
+    @Value("${rawlogin.permission-store.ttl:5s}")
+    private Duration ttl;
+
+    @Value("${rawlogin.permission-store.stale-while-revalidate:30s}")
+    private Duration staleWhileRevalidate;
+
+    @Value("${rawlogin.permission-store.max-staleness:10m}")
+    private Duration maxStaleness;
+
+    @Value("${rawlogin.permission-store.max-entries:100000}")
+    private int maxEntries;
+
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 正在后台刷新的用户，避免重复提交
+     */
+    private final Set<Integer> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 失效版本，每次失效时递增。加载在查询前记录版本，写入缓存前版本已变化说明查询结果可能早于失效，丢弃不缓存
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 缓存未命中时同一用户的并发加载只查询一次，共享结果携带发起查询时的版本
+     */
+    private final SingleFlight<Integer, Loaded> loads =
+            new SingleFlight<>("permission.by-user", () -> this.routingContext.isStickyToPrimary());
+
+    private ThreadPoolExecutor refresher;
+
+    private long ttlNanos;
+
+    private long revalidateNanos;
+
+    private long maxStalenessNanos;
+
+    /**
+     * 创建后台刷新线程池并启动过期项清理
+     */
+    @PostConstruct
+    public void init() {
+        this.ttlNanos = ttl.toNanos();
+        this.revalidateNanos = ttlNanos + staleWhileRevalidate.toNanos();
+        this.maxStalenessNanos = Math.max(revalidateNanos, maxStaleness.toNanos());
+        AtomicInteger threads = new AtomicInteger();
+        this.refresher = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(256),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "permission-refresh-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.refresher.allowCoreThreadTimeOut(true);
+        Gauge.builder("rawlogin.permission.store.size", entries, Map::size).register(Metrics.globalRegistry);
+        taskScheduler.scheduleWithFixedDelay(this::evictExpired, Duration.ofMinutes(1));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * 获取用户权限位图
+     * @param userId 用户ID
+     * @return 权限位图（只读）
+     * @throws DatabaseUnavailableException 数据库不可用且没有足够新的权限数据
+     */
+    public BitSet get(Integer userId) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry != null) {
+            long age = now - entry.loadedAt;
+            if (age <= ttlNanos) {
+                freshCounter.increment();
+                return entry.permissions;
+            }
+            if (age <= revalidateNanos && !circuitBreaker.isOpen()) {
+                revalidateCounter.increment();
+                refreshAsync(userId);
+                return entry.permissions;
+            }
+        }
+
+        try {
+            loadCounter.increment();
+            return load(userId);
+        } catch (RuntimeException e) {
+            if (!DatabaseCircuitBreaker.isUnavailable(e)) {
+                throw e;
+            }
+            if (entry != null && now - entry.loadedAt <= maxStalenessNanos) {
+                staleIfErrorCounter.increment();
+                return entry.permissions;
+            }
+            unavailableCounter.increment();
+            throw new DatabaseUnavailableException("权限数据暂不可用，请稍后再试", e);
+        }
+    }
+
+    /**
+     * 批量获取用户权限位图，缓存未命中的用户合并为一次查询加载。
+     * 不存在的用户返回空位图且不缓存，任意用户ID不会占用缓存容量
+     * @param userIds 用户ID（不含null）
+     * @return 用户ID到权限位图（只读）的映射
+     * @throws DatabaseUnavailableException 数据库不可用且有用户没有足够新的权限数据
+     */
+    public Map<Integer, BitSet> getAll(Collection<Integer> userIds) {
+        long now = System.nanoTime();
+        Map<Integer, BitSet> result = new HashMap<>();
+        List<Integer> misses = new ArrayList<>();
+        for (Integer userId : new HashSet<>(userIds)) {
+            Entry entry = entries.get(userId);
+            if (entry != null && now - entry.loadedAt <= ttlNanos) {
+                freshCounter.increment();
+                result.put(userId, entry.permissions);
+            } else if (entry != null && now - entry.loadedAt <= revalidateNanos && !circuitBreaker.isOpen()) {
+                revalidateCounter.increment();
+                refreshAsync(userId);
+                result.put(userId, entry.permissions);
+            } else {
+                misses.add(userId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        try {
+            loadCounter.increment(misses.size());
+            result.putAll(loadAll(misses));
+        } catch (RuntimeException e) {
+            if (!DatabaseCircuitBreaker.isUnavailable(e)) {
+                throw e;
+            }
+            for (Integer userId : misses) {
+                Entry entry = entries.get(userId);
+                if (entry == null || now - entry.loadedAt > maxStalenessNanos) {
+                    unavailableCounter.increment();
+                    throw new DatabaseUnavailableException("权限数据暂不可用，请稍后再试", e);
+                }
+                staleIfErrorCounter.increment();
+                result.put(userId, entry.permissions);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 失效单个用户的权限（用户角色变更），在事务中调用时于提交后生效
+     * @param userId 用户ID
+     */
+    public void invalidate(Integer userId) {
+        if (userId != null) {
+            afterCommit(() -> {
+                version.incrementAndGet();
+                entries.remove(userId);
+            });
+        }
+    }
+
+    /**
+     * 失效全部用户的权限（角色或角色权限变更），在事务中调用时于提交后生效
+     */
+    public void invalidateAll() {
+        afterCommit(() -> {
+            version.incrementAndGet();
+            entries.clear();
+        });
+    }
+
+    /**
+     * 提交前失效会让并发请求把未提交前的旧权限重新读入缓存，因此推迟到提交之后
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private BitSet load(Integer userId) {
+        Loaded loaded = loads.execute(userId, () -> {
+            long loadVersion = version.get();
+            // 失效后重新加载必须读到已提交的变更，不能读复制延迟中的从库
+            return new Loaded(permissionCatalog.toBitSet(
+                    routingContext.onPrimary(() -> permissionMapper.findByUserId(userId))), loadVersion);
+        });
+        if (loaded.version == version.get() && (entries.size() < maxEntries || entries.containsKey(userId))) {
+            entries.put(userId, new Entry(loaded.permissions, System.nanoTime()));
+        }
+        return loaded.permissions;
+    }
+
+    private Map<Integer, BitSet> loadAll(List<Integer> userIds) {
+        long loadVersion = version.get();
+        Map<Integer, BitSet> loaded = new HashMap<>();
+        for (UserPermissionPO row : routingContext.onPrimary(() -> permissionMapper.findCodesByUserIds(userIds))) {
+            int ordinal = permissionCatalog.ordinalOf(row.getCode());
+            BitSet permissions = loaded.computeIfAbsent(row.getUserId(), id -> new BitSet());
+            if (ordinal >= 0) {
+                permissions.set(ordinal);
+            }
+        }
+        // 没有任何权限的用户需要区分是否存在，只缓存存在的用户
+        List<Integer> withoutPermissions = new ArrayList<>();
+        for (Integer userId : userIds) {
+            if (!loaded.containsKey(userId)) {
+                withoutPermissions.add(userId);
+            }
+        }
+        Set<Integer> existing = withoutPermissions.isEmpty()
+                ? Collections.emptySet()
+                : new HashSet<>(routingContext.onPrimary(() -> userMapper.selectExistingIds(withoutPermissions)));
+
+        long loadedAt = System.nanoTime();
+        boolean current = loadVersion == version.get();
+        for (Integer userId : userIds) {
+            BitSet permissions = loaded.get(userId);
+            boolean known = permissions != null || existing.contains(userId);
+            if (permissions == null) {
+                permissions = new BitSet();
+                loaded.put(userId, permissions);
+            }
+            if (current && known && (entries.size() < maxEntries || entries.containsKey(userId))) {
+                entries.put(userId, new Entry(permissions, loadedAt));
+            }
+        }
+        return loaded;
+    }
+
+    private void refreshAsync(Integer userId) {
+        if (!refreshing.add(userId)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    load(userId);
+                } catch (RuntimeException e) {
+                    logger.debug("后台刷新用户权限失败: userId={}", userId, e);
+                } finally {
+                    refreshing.remove(userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 队列已满，本次继续使用旧值，下次请求再尝试
+            refreshing.remove(userId);
+        }
+    }
+
+    /**
+     * 清理超过最大陈旧时间的项
+     */
+    private void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.loadedAt > maxStalenessNanos);
+    }
+
+    private static final class Entry {
+
+        final BitSet permissions;
+
+        final long loadedAt;
+
+        Entry(BitSet permissions, long loadedAt) {
+            this.permissions = permissions;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * 一次加载的结果及发起查询时的失效版本
+     */
+    private static final class Loaded {
+
+        final BitSet permissions;
+
+        final long version;
+
+        Loaded(BitSet permissions, long version) {
+            this.permissions = permissions;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.rawlogin.config.concurrency;
+
+import com.rawlogin.interceptor.AuthResponseWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 自适应并发限制过滤器（舱壁）
+ * 每个接口分组独立限制同时处理的请求数，上限随测得的延迟自适应调整；
+ * 超出上限的请求立即返回503，不占用Tomcat线程等待数据库，
+ * 某一组（如用户管理的条件查询）变慢时不会拖垮其他组（如登录）
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AuthResponseWriter authResponseWriter;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final boolean enabled;
+
+    private final List<LimitedGroup> groups = new ArrayList<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, AuthResponseWriter authResponseWriter) {
+        this.authResponseWriter = authResponseWriter;
+        this.enabled = properties.isEnabled();
+        for (Map.Entry<String, ConcurrencyLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+            groups.add(new LimitedGroup(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        LimitedGroup group = enabled ? match(request) : null;
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!group.limiter.tryAcquire()) {
+            group.rejected.increment();
+            authResponseWriter.writeServiceUnavailable(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        GradientLimiter.Outcome outcome = GradientLimiter.Outcome.DROPPED;
+        try {
+            filterChain.doFilter(request, response);
+            outcome = outcomeOf(response.getStatus());
+        } finally {
+            group.limiter.release(System.nanoTime() - start, outcome);
+        }
+    }
+
+    /**
+     * 匹配请求所属分组，多个分组匹配时取模式最具体的分组，与分组的配置顺序无关
+     */
+    private LimitedGroup match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        LimitedGroup best = null;
+        String bestPattern = null;
+        Comparator<String> specificity = null;
+        for (LimitedGroup group : groups) {
+            for (String pattern : group.patterns) {
+                if (!pathMatcher.match(pattern, path)) {
+                    continue;
+                }
+                if (best == null) {
+                    best = group;
+                    bestPattern = pattern;
+                    continue;
+                }
+                if (specificity == null) {
+                    specificity = pathMatcher.getPatternComparator(path);
+                }
+                if (specificity.compare(pattern, bestPattern) < 0) {
+                    best = group;
+                    bestPattern = pattern;
+                }
+            }
+        }
+        return best;
+    }
+
+    private GradientLimiter.Outcome outcomeOf(int status) {
+        if (status >= 500) {
+            return GradientLimiter.Outcome.DROPPED;
+        }
+        // 认证失败、限流等在过滤器中快速返回的响应不代表处理延迟
+        return status >= 400 ? GradientLimiter.Outcome.IGNORED : GradientLimiter.Outcome.SUCCESS;
+    }
+
+    /**
+     * 接口分组及其并发限制
+     */
+    private static final class LimitedGroup {
+
+        private final List<String> patterns;
+
+        private final GradientLimiter limiter;
+
+        private final Counter rejected;
+
+        LimitedGroup(String name, ConcurrencyLimitProperties.Group group) {
+            this.patterns = group.getPatterns();
+            this.limiter = new GradientLimiter(group);
+            this.rejected = Counter.builder("rawlogin.concurrency.rejected")
+                    .tag("group", name)
+                    .register(Metrics.globalRegistry);
+            Gauge.builder("rawlogin.concurrency.limit", limiter, GradientLimiter::getLimit)
+                    .tag("group", name)
+                    .register(Metrics.globalRegistry);
+            Gauge.builder("rawlogin.concurrency.inflight", limiter, GradientLimiter::getInflight)
+                    .tag("group", name)
+                    .register(Metrics.globalRegistry);
+        }
+    }
+}
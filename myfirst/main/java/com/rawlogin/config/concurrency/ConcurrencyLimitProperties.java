@@ -0,0 +1,67 @@
+package com.rawlogin.config.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 自适应并发限制配置（rawlogin.concurrency-limit.*）
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rawlogin.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * 是否启用并发限制
+     */
+    private boolean enabled = true;
+
+    /**
+     * 接口分组，每组独立限制并发。分组是Map，其顺序受配置来源影响，
+     * 因此不按顺序匹配：多个分组的模式都匹配时取最具体的模式（见AntPathMatcher#getPatternComparator）
+     */
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    /**
+     * 接口分组
+     */
+    @Data
+    public static class Group {
+
+        /**
+         * 路径模式（Ant风格，不含context-path）
+         */
+        private List<String> patterns = new ArrayList<>();
+
+        /**
+         * 初始并发上限
+         */
+        private int initialLimit = 20;
+
+        /**
+         * 并发上限的下界
+         */
+        private int minLimit = 2;
+
+        /**
+         * 并发上限的上界
+         */
+        private int maxLimit = 200;
+
+        /**
+         * 可容忍的延迟升高倍数，短期延迟超过长期基线的该倍数时开始收缩
+         */
+        private double tolerance = 1.5;
+
+        /**
+         * 每次调整的平滑系数（0-1）
+         */
+        private double smoothing = 0.2;
+    }
+}
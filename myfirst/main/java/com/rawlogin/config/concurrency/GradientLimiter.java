@@ -0,0 +1,118 @@
+package com.rawlogin.config.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于延迟梯度的自适应并发上限
+ * 维护短期（快速EWMA）和长期（慢速EWMA）两个请求延迟：
+ * 短期延迟相对长期基线升高时按比例收缩上限（最多减半），延迟平稳时加上sqrt(上限)的排队余量缓慢增长；
+ * 请求失败（5xx）时乘性减小。未用满上限一半时不增长，避免空闲时上限无限膨胀
+ */
+final class GradientLimiter {
+
+    private static final double SHORT_ALPHA = 0.1;
+
+    private static final double LONG_ALPHA = 0.01;
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private static final double DROP_DECREASE = 0.9;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final double smoothing;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile int limit;
+
+    private double estimatedLimit;
+
+    private double shortRtt;
+
+    private double longRtt;
+
+    GradientLimiter(ConcurrencyLimitProperties.Group group) {
+        this.minLimit = Math.max(1, group.getMinLimit());
+        this.maxLimit = Math.max(minLimit, group.getMaxLimit());
+        this.tolerance = group.getTolerance();
+        this.smoothing = group.getSmoothing();
+        this.estimatedLimit = Math.min(maxLimit, Math.max(minLimit, group.getInitialLimit()));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * 尝试占用一个并发名额
+     * @return 是否成功，失败时应立即拒绝请求
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放名额并根据本次请求调整上限
+     * @param rttNanos 请求耗时
+     * @param outcome 请求结果
+     */
+    void release(long rttNanos, Outcome outcome) {
+        int inflightBefore = inflight.getAndDecrement();
+        if (outcome == Outcome.IGNORED) {
+            return;
+        }
+        synchronized (this) {
+            if (outcome == Outcome.DROPPED) {
+                estimatedLimit = Math.max(minLimit, estimatedLimit * DROP_DECREASE);
+            } else {
+                shortRtt = shortRtt == 0 ? rttNanos : shortRtt * (1 - SHORT_ALPHA) + rttNanos * SHORT_ALPHA;
+                longRtt = longRtt == 0 ? rttNanos : longRtt * (1 - LONG_ALPHA) + rttNanos * LONG_ALPHA;
+
+                double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+                double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+                if (target > estimatedLimit && inflightBefore < estimatedLimit / 2) {
+                    return;
+                }
+                double next = estimatedLimit * (1 - smoothing) + target * smoothing;
+                estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+            }
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * 请求结果
+     */
+    enum Outcome {
+        /**
+         * 正常完成，延迟计入样本
+         */
+        SUCCESS,
+        /**
+         * 服务端失败，减小上限
+         */
+        DROPPED,
+        /**
+         * 客户端错误等快速返回，不计入样本
+         */
+        IGNORED
+    }
+}
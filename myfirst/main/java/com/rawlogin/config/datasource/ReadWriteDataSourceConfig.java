@@ -0,0 +1,95 @@
+package com.rawlogin.config.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离数据源配置
+ * 配置了rawlogin.datasource.replica-urls时启用：spring.datasource.*为主库，
+ * 从库沿用主库的连接池设置（含spring.datasource.hikari.*），只替换URL和账号。
+ * 对外暴露的DataSource为 LazyConnectionDataSourceProxy → ReadWriteRoutingDataSource，
+ * 事务管理器、MyBatis和JdbcTemplate都经由它获取连接；Flyway迁移直接使用主库
+ */
+@Configuration
+@ConditionalOnProperty("rawlogin.datasource.replica-urls")
+public class ReadWriteDataSourceConfig {
+
+    /**
+     * 主库连接池
+     * @param properties spring.datasource配置
+     * @return 主库数据源
+     */
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (!StringUtils.hasText(dataSource.getPoolName())) {
+            dataSource.setPoolName("primary");
+        }
+        return dataSource;
+    }
+
+    /**
+     * 读写路由数据源，从库连接池随其关闭
+     * @param primaryDataSource 主库数据源
+     * @param routingContext 路由上下文
+     * @param replicaUrls 从库JDBC URL（逗号分隔）
+     * @param username 从库用户名，默认同主库
+     * @param password 从库密码，默认同主库
+     * @return 路由数据源
+     */
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            ReadWriteRoutingContext routingContext,
+            @Value("${rawlogin.datasource.replica-urls}") String[] replicaUrls,
+            @Value("${rawlogin.datasource.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${rawlogin.datasource.replica-password:${spring.datasource.password:}}") String password) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setReadOnly(true);
+            config.setPoolName(primaryDataSource.getPoolName() + "-replica-" + replicas.size());
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(Metrics.globalRegistry));
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, routingContext);
+    }
+
+    /**
+     * 应用使用的数据源
+     * 延迟到执行第一条语句时才获取物理连接，此时事务的只读标记已确定
+     * @param routingDataSource 读写路由数据源
+     * @return 数据源
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,140 @@
+package com.rawlogin.config.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 读写分离路由上下文
+ * 记录当前线程正在执行的语句是否为只读查询，以及读己之写（read-your-writes）状态：
+ * 本请求已有写操作，或当前用户在粘滞窗口内写过数据时，读请求也走主库，避免读到复制延迟前的旧数据。
+ * 粘滞只覆盖写数据的用户本人；认证授权依赖的读（权限加载、登录查用户）由调用方用{@link #onPrimary}显式走主库，
+ * 不受复制延迟影响（管理员撤销权限、新用户注册后立即生效）
+ */
+@Component
+public class ReadWriteRoutingContext {
+
+    /**
+     * 粘滞记录数超过该值时清理过期项
+     */
+    private static final int SWEEP_THRESHOLD = 10000;
+
+    private final ThreadLocal<Boolean> readStatement = new ThreadLocal<>();
+
+    private final ThreadLocal<Integer> currentUser = new ThreadLocal<>();
+
+    private final ThreadLocal<Boolean> wroteInRequest = new ThreadLocal<>();
+
+    private final ThreadLocal<Boolean> primaryRequired = new ThreadLocal<>();
+
+    /**
+     * 用户ID -> 粘滞主库截止时间（System.nanoTime）
+     */
+    private final Map<Integer, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    @Value("${rawlogin.datasource.sticky-window:5s}")
+    private Duration stickyWindow;
+
+    /**
+     * 结束当前请求，清理线程上的路由状态
+     */
+    public void endRequest() {
+        readStatement.remove();
+        currentUser.remove();
+        wroteInRequest.remove();
+    }
+
+    /**
+     * 绑定当前请求的用户（认证通过后调用）
+     * @param userId 用户ID
+     */
+    public void bindUser(Integer userId) {
+        currentUser.set(userId);
+    }
+
+    /**
+     * 在主库上执行（可在请求线程或后台线程调用，可嵌套）
+     * 事务中已获取从库连接时无法切换，调用方应在事务外或读写事务中使用
+     * @param action 查询
+     * @param <T> 结果类型
+     * @return 查询结果
+     */
+    public <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = primaryRequired.get();
+        primaryRequired.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                primaryRequired.remove();
+            } else {
+                primaryRequired.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 标记当前线程即将执行只读查询（事务外的Mapper查询据此路由到从库）
+     * @param read 是否只读查询
+     * @return 之前的标记，执行结束后用于恢复
+     */
+    public Boolean markReadStatement(Boolean read) {
+        Boolean previous = readStatement.get();
+        if (read == null) {
+            readStatement.remove();
+        } else {
+            readStatement.set(read);
+        }
+        return previous;
+    }
+
+    /**
+     * 当前线程的语句是否为只读查询
+     * @return 是否只读查询
+     */
+    public boolean isReadStatement() {
+        return Boolean.TRUE.equals(readStatement.get());
+    }
+
+    /**
+     * 记录一次写操作：本请求余下的读以及当前用户在粘滞窗口内的读都走主库
+     */
+    public void markWrite() {
+        wroteInRequest.set(Boolean.TRUE);
+        Integer userId = currentUser.get();
+        if (userId != null) {
+            if (stickyUntil.size() > SWEEP_THRESHOLD) {
+                long now = System.nanoTime();
+                stickyUntil.values().removeIf(until -> until - now <= 0);
+            }
+            stickyUntil.put(userId, System.nanoTime() + stickyWindow.toNanos());
+        }
+    }
+
+    /**
+     * 当前读请求是否必须走主库
+     * @return 是否粘滞主库
+     */
+    public boolean isStickyToPrimary() {
+        if (Boolean.TRUE.equals(primaryRequired.get()) || Boolean.TRUE.equals(wroteInRequest.get())) {
+            return true;
+        }
+        Integer userId = currentUser.get();
+        if (userId == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(userId, until);
+        return false;
+    }
+}
@@ -0,0 +1,80 @@
+package com.rawlogin.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 读写分离路由数据源
+ * 只读事务（@Transactional(readOnly = true)）和事务外的Mapper查询轮询路由到从库，
+ * 其余（写操作、读写事务、读己之写窗口内的读）路由到主库。
+ * 需包装在LazyConnectionDataSourceProxy中使用，使连接在事务只读标记确定后、执行第一条语句时才获取
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String REPLICA_PREFIX = "replica-";
+
+    private static final Counter primaryCounter = Counter.builder("rawlogin.datasource.route")
+            .tag("target", "primary")
+            .register(Metrics.globalRegistry);
+
+    private static final Counter replicaCounter = Counter.builder("rawlogin.datasource.route")
+            .tag("target", "replica")
+            .register(Metrics.globalRegistry);
+
+    private final ReadWriteRoutingContext routingContext;
+
+    private final List<HikariDataSource> replicas;
+
+    private final String[] replicaKeys;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                      ReadWriteRoutingContext routingContext) {
+        this.routingContext = routingContext;
+        this.replicas = replicas;
+        this.replicaKeys = new String[replicas.size()];
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            replicaKeys[i] = REPLICA_PREFIX + i;
+            targets.put(replicaKeys[i], replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean read = TransactionSynchronizationManager.isActualTransactionActive()
+                ? TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                : routingContext.isReadStatement();
+        if (!read || replicaKeys.length == 0 || routingContext.isStickyToPrimary()) {
+            primaryCounter.increment();
+            return PRIMARY;
+        }
+        replicaCounter.increment();
+        return replicaKeys[Math.floorMod(next.getAndIncrement(), replicaKeys.length)];
+    }
+
+    /**
+     * 关闭从库连接池（主库连接池由容器管理）
+     */
+    @Override
+    public void close() {
+        for (HikariDataSource replica : replicas) {
+            replica.close();
+        }
+    }
+}
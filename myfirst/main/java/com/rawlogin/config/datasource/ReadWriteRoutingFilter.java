@@ -0,0 +1,32 @@
+package com.rawlogin.config.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 读写分离请求边界过滤器
+ * 请求结束时清理线程上的路由状态（当前用户、本请求是否已写）
+ */
+public class ReadWriteRoutingFilter extends OncePerRequestFilter {
+
+    private final ReadWriteRoutingContext routingContext;
+
+    public ReadWriteRoutingFilter(ReadWriteRoutingContext routingContext) {
+        this.routingContext = routingContext;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            routingContext.endRequest();
+        }
+    }
+}
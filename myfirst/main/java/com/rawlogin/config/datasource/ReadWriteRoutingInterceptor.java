@@ -0,0 +1,52 @@
+package com.rawlogin.config.datasource;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * 读写分离拦截器
+ * 事务外的SELECT语句执行期间标记为只读查询，供{@link ReadWriteRoutingDataSource}选择从库；
+ * INSERT/UPDATE/DELETE执行后记录写操作，开启读己之写窗口
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class ReadWriteRoutingInterceptor implements Interceptor {
+
+    private final ReadWriteRoutingContext routingContext;
+
+    public ReadWriteRoutingInterceptor(ReadWriteRoutingContext routingContext) {
+        this.routingContext = routingContext;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        boolean read = statement.getSqlCommandType() == SqlCommandType.SELECT;
+        Boolean previous = routingContext.markReadStatement(read);
+        try {
+            Object result = invocation.proceed();
+            if (!read) {
+                routingContext.markWrite();
+            }
+            return result;
+        } finally {
+            routingContext.markReadStatement(previous);
+        }
+    }
+}
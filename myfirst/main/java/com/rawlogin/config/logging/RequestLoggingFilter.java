@@ -0,0 +1,109 @@
+package com.rawlogin.config.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * 请求日志过滤器
+ * 为每个请求设置requestId（MDC，并通过X-Request-Id响应头返回），
+ * 按接口采样输出访问日志：每个接口每N个请求记录一条，服务端错误和慢请求总是记录
+ */
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+
+    private static final Logger accessLogger = LoggerFactory.getLogger("ACCESS");
+
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+    /**
+     * 客户端传入的requestId只接受这些字符，避免伪造日志内容
+     */
+    private static final Pattern REQUEST_ID_PATTERN = Pattern.compile("[A-Za-z0-9._-]+");
+
+    /**
+     * 没有匹配到路由的请求（如404）共用的接口名，原始方法和路径由客户端控制，不能作为计数键
+     */
+    private static final String UNMATCHED_ENDPOINT = "UNMATCHED";
+
+    /**
+     * 采样间隔：每个接口每N个请求记录一次，1表示全部记录
+     */
+    private final int sampleEvery;
+
+    /**
+     * 慢请求阈值（纳秒），超过时总是记录
+     */
+    private final long slowNanos;
+
+    /**
+     * 接口 -> 请求计数
+     */
+    private final ConcurrentHashMap<String, AtomicLong> endpointCounters = new ConcurrentHashMap<>();
+
+    public RequestLoggingFilter(int sampleEvery, long slowMillis) {
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = requestId(request);
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (accessLogger.isInfoEnabled()) {
+                logAccess(request, response.getStatus(), elapsed);
+            }
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+
+    private void logAccess(HttpServletRequest request, int status, long elapsedNanos) {
+        // 按路由模板而非原始路径分组，避免/api/users/{id}按ID分裂
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? request.getMethod() + " " + pattern : UNMATCHED_ENDPOINT;
+        long count = endpointCounters.computeIfAbsent(endpoint, key -> new AtomicLong()).incrementAndGet();
+        boolean sampled = (count - 1) % sampleEvery == 0;
+        if (!sampled && status < HttpServletResponse.SC_INTERNAL_SERVER_ERROR && elapsedNanos < slowNanos) {
+            return;
+        }
+        accessLogger.info("{} {} {} {}",
+                kv("endpoint", endpoint),
+                kv("status", status),
+                kv("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos)),
+                kv("sampleEvery", sampled ? sampleEvery : 1));
+    }
+
+    private String requestId(HttpServletRequest request) {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || requestId.length() > MAX_REQUEST_ID_LENGTH
+                || !REQUEST_ID_PATTERN.matcher(requestId).matches()) {
+            return UUID.randomUUID().toString().replace("-", "");
+        }
+        return requestId;
+    }
+}
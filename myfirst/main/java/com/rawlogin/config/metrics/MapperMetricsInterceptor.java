@@ -0,0 +1,93 @@
+package com.rawlogin.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mapper语句耗时拦截器
+ * 按MappedStatement记录每条SQL的执行耗时，statement标签形如 UserMapper.selectByUsername
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class MapperMetricsInterceptor implements Interceptor {
+
+    /**
+     * outcome标签值，下标即OUTCOME_*常量
+     */
+    private static final String[] OUTCOMES = {"success", "exception"};
+    private static final int OUTCOME_SUCCESS = 0;
+    private static final int OUTCOME_EXCEPTION = 1;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * MappedStatement ID -> 各outcome的Timer（下标与OUTCOMES一致）
+     */
+    private final ConcurrentHashMap<String, AtomicReferenceArray<Timer>> timers = new ConcurrentHashMap<>();
+
+    public MapperMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        long start = System.nanoTime();
+        int outcome = OUTCOME_EXCEPTION;
+        try {
+            Object result = invocation.proceed();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } finally {
+            timer(statement, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(MappedStatement statement, int outcome) {
+        AtomicReferenceArray<Timer> statementTimers = timers.get(statement.getId());
+        if (statementTimers == null) {
+            statementTimers = timers.computeIfAbsent(statement.getId(),
+                    id -> new AtomicReferenceArray<>(OUTCOMES.length));
+        }
+        Timer timer = statementTimers.get(outcome);
+        if (timer == null) {
+            timer = Timer.builder("rawlogin.mapper")
+                    .tag("statement", shortId(statement.getId()))
+                    .tag("command", statement.getSqlCommandType().name())
+                    .tag("outcome", OUTCOMES[outcome])
+                    .register(meterRegistry);
+            statementTimers.set(outcome, timer);
+        }
+        return timer;
+    }
+
+    /**
+     * 去掉包名：com.rawlogin.infrastructure.persistence.UserMapper.selectByUsername -> UserMapper.selectByUsername
+     */
+    static String shortId(String id) {
+        int method = id.lastIndexOf('.');
+        int type = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+        return type >= 0 ? id.substring(type + 1) : id;
+    }
+}
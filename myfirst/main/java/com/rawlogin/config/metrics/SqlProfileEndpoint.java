@@ -0,0 +1,26 @@
+package com.rawlogin.config.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL分析端点
+ * GET /actuator/sqlprofile 输出滚动窗口内按累计耗时排序的Top-K语句
+ */
+@Component
+@Endpoint(id = "sqlprofile")
+public class SqlProfileEndpoint {
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @ReadOperation
+    public List<Map<String, Object>> topStatements() {
+        return sqlProfiler.topStatements();
+    }
+}
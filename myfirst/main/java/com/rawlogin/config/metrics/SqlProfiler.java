@@ -0,0 +1,208 @@
+package com.rawlogin.config.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * SQL语句分析器
+ * 按请求统计每个Mapper方法的执行次数和耗时，同一请求内重复执行超过阈值时告警（N+1），
+ * 同时维护按窗口滚动的全局统计，供sqlprofile端点输出Top-K
+ */
+@Component
+public class SqlProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlProfiler.class);
+
+    private final ThreadLocal<RequestProfile> currentRequest = new ThreadLocal<>();
+
+    @Value("${rawlogin.sql-profiler.n-plus-one-threshold:10}")
+    private int nPlusOneThreshold;
+
+    @Value("${rawlogin.sql-profiler.slow-query-threshold:200ms}")
+    private Duration slowQueryThreshold;
+
+    @Value("${rawlogin.sql-profiler.window:5m}")
+    private Duration window;
+
+    @Value("${rawlogin.sql-profiler.top-k:20}")
+    private int topK;
+
+    private volatile Window currentWindow = new Window(System.currentTimeMillis());
+
+    private volatile Window previousWindow;
+
+    /**
+     * 开始记录当前线程上的请求
+     * @param description 请求描述（方法和路径）
+     */
+    public void beginRequest(String description) {
+        currentRequest.set(new RequestProfile(description));
+    }
+
+    /**
+     * 结束当前请求的记录，检查N+1
+     */
+    public void endRequest() {
+        RequestProfile profile = currentRequest.get();
+        currentRequest.remove();
+        if (profile == null) {
+            return;
+        }
+        for (Map.Entry<String, StatementCounter> entry : profile.statements.entrySet()) {
+            StatementCounter counter = entry.getValue();
+            if (counter.count > nPlusOneThreshold) {
+                logger.warn("疑似N+1查询: {} 执行 {} {} 次，共耗时 {} ms",
+                        profile.description, entry.getKey(), counter.count,
+                        TimeUnit.NANOSECONDS.toMillis(counter.nanos));
+            }
+        }
+    }
+
+    /**
+     * 记录一次语句执行
+     * @param statementId 语句ID（如 RoleMapper.selectById）
+     * @param elapsedNanos 耗时（纳秒）
+     */
+    public void record(String statementId, long elapsedNanos) {
+        RequestProfile profile = currentRequest.get();
+        if (profile != null) {
+            profile.statements.computeIfAbsent(statementId, id -> new StatementCounter()).add(elapsedNanos);
+        }
+        window().statements.computeIfAbsent(statementId, id -> new StatementStats()).add(elapsedNanos);
+    }
+
+    /**
+     * 是否为慢查询
+     * @param elapsedNanos 耗时（纳秒）
+     * @return 是否超过慢查询阈值
+     */
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= slowQueryThreshold.toNanos();
+    }
+
+    /**
+     * 按累计耗时排序的Top-K语句（当前窗口与上一窗口合并）
+     * @return 语句统计列表
+     */
+    public List<Map<String, Object>> topStatements() {
+        // 先按当前时间滚动，空闲一段时间后不再把旧窗口当作当前统计
+        Window current = window();
+        Map<String, long[]> merged = new HashMap<>();
+        mergeInto(merged, previousWindow);
+        mergeInto(merged, current);
+        return merged.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[1]).reversed())
+                .limit(topK)
+                .map(e -> {
+                    long count = e.getValue()[0];
+                    long totalNanos = e.getValue()[1];
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("statement", e.getKey());
+                    row.put("count", count);
+                    row.put("totalMs", TimeUnit.NANOSECONDS.toMillis(totalNanos));
+                    row.put("avgMs", count > 0 ? totalNanos / count / 1_000_000.0 : 0.0);
+                    row.put("maxMs", TimeUnit.NANOSECONDS.toMillis(e.getValue()[2]));
+                    return row;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private void mergeInto(Map<String, long[]> merged, Window window) {
+        if (window == null) {
+            return;
+        }
+        window.statements.forEach((id, stats) -> {
+            long[] values = merged.computeIfAbsent(id, key -> new long[3]);
+            values[0] += stats.count.sum();
+            values[1] += stats.nanos.sum();
+            values[2] = Math.max(values[2], stats.maxNanos.get());
+        });
+    }
+
+    /**
+     * 获取当前统计窗口，超时则滚动；当前窗口已超过两个窗口长度时（期间无语句执行）不再保留为上一窗口
+     */
+    private Window window() {
+        Window current = currentWindow;
+        long now = System.currentTimeMillis();
+        if (now - current.startMillis >= window.toMillis()) {
+            synchronized (this) {
+                if (currentWindow == current) {
+                    previousWindow = now - current.startMillis < 2 * window.toMillis() ? current : null;
+                    currentWindow = new Window(now);
+                }
+                current = currentWindow;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 单个请求的语句计数（仅当前线程访问）
+     */
+    private static class RequestProfile {
+
+        private final String description;
+
+        private final Map<String, StatementCounter> statements = new HashMap<>();
+
+        RequestProfile(String description) {
+            this.description = description;
+        }
+    }
+
+    private static class StatementCounter {
+
+        private int count;
+
+        private long nanos;
+
+        void add(long elapsedNanos) {
+            count++;
+            nanos += elapsedNanos;
+        }
+    }
+
+    /**
+     * 统计窗口
+     */
+    private static class Window {
+
+        private final long startMillis;
+
+        private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+
+        Window(long startMillis) {
+            this.startMillis = startMillis;
+        }
+    }
+
+    private static class StatementStats {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long elapsedNanos) {
+            count.increment();
+            nanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+    }
+}
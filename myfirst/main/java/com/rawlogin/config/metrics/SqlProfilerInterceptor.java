@@ -0,0 +1,93 @@
+package com.rawlogin.config.metrics;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL分析拦截器
+ * 将每条语句的耗时交给{@link SqlProfiler}统计；慢查询记录SQL和参数，参数只输出名称和类型，不输出值
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class SqlProfilerInterceptor implements Interceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlProfilerInterceptor.class);
+
+    private final SqlProfiler sqlProfiler;
+
+    public SqlProfilerInterceptor(SqlProfiler sqlProfiler) {
+        this.sqlProfiler = sqlProfiler;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String statementId = MapperMetricsInterceptor.shortId(statement.getId());
+            sqlProfiler.record(statementId, elapsed);
+            if (sqlProfiler.isSlow(elapsed)) {
+                BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : statement.getBoundSql(args[1]);
+                logger.warn("慢查询: {} 耗时 {} ms, SQL: {}, 参数: {}",
+                        statementId, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                        boundSql.getSql().replaceAll("\\s+", " "),
+                        redactedParameters(statement.getConfiguration(), boundSql, args[1]));
+            }
+        }
+    }
+
+    /**
+     * 参数脱敏：只输出参数名和值的类型
+     */
+    private String redactedParameters(Configuration configuration, BoundSql boundSql, Object parameterObject) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        MetaObject metaObject = null;
+        for (ParameterMapping mapping : mappings) {
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                value = metaObject.hasGetter(property) ? metaObject.getValue(property) : null;
+            }
+            joiner.add(property + "=<" + (value != null ? value.getClass().getSimpleName() : "null") + ">");
+        }
+        return joiner.toString();
+    }
+}
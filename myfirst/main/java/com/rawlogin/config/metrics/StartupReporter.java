@@ -0,0 +1,80 @@
+package com.rawlogin.config.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 启动指标报告
+ * 应用就绪时输出启动耗时、Bean数量、已加载类数量和内存占用，用于对比配置调整前后的启动开销
+ * （启动耗时同时以application.ready.time指标暴露）；
+ * 使用BufferingApplicationStartup启动时，额外输出创建最慢的Bean，完整时间线见/actuator/startup
+ */
+@Component
+public class StartupReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupReporter.class);
+
+    private static final long MB = 1024 * 1024;
+
+    /**
+     * 输出的最慢Bean数量
+     */
+    private static final int SLOWEST_BEANS = 10;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        MemoryUsage nonHeap = memory.getNonHeapMemoryUsage();
+        logger.info("启动完成: 耗时 {} ms, JVM运行 {} ms, Bean {} 个, 已加载类 {} 个, 堆内存 {} MB / {} MB, 非堆内存 {} MB",
+                event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1,
+                ManagementFactory.getRuntimeMXBean().getUptime(),
+                event.getApplicationContext().getBeanDefinitionCount(),
+                ManagementFactory.getClassLoadingMXBean().getLoadedClassCount(),
+                heap.getUsed() / MB, heap.getCommitted() / MB,
+                nonHeap.getUsed() / MB);
+
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (startup instanceof BufferingApplicationStartup) {
+            logSlowestBeans(((BufferingApplicationStartup) startup).getBufferedTimeline());
+        }
+    }
+
+    /**
+     * 输出实例化耗时最长的Bean（含其依赖的创建时间）
+     * @param timeline 启动时间线
+     */
+    private void logSlowestBeans(StartupTimeline timeline) {
+        List<StartupTimeline.TimelineEvent> slowest = timeline.getEvents().stream()
+                .filter(e -> "spring.beans.instantiate".equals(e.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_BEANS)
+                .collect(Collectors.toList());
+        for (StartupTimeline.TimelineEvent event : slowest) {
+            logger.info("启动耗时Bean: {} {} ms", beanName(event.getStartupStep()), event.getDuration().toMillis());
+        }
+    }
+
+    private String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+}
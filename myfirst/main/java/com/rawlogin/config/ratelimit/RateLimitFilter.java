@@ -0,0 +1,47 @@
+package com.rawlogin.config.ratelimit;
+
+import com.rawlogin.interceptor.AuthResponseWriter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 限流过滤器
+ * 排在认证授权过滤器之后：已认证请求按令牌中的用户ID限流，匿名请求按客户端IP限流；
+ * 超出速率时返回429和Retry-After
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    private final AuthResponseWriter authResponseWriter;
+
+    public RateLimitFilter(RateLimiter rateLimiter, AuthResponseWriter authResponseWriter) {
+        this.rateLimiter = rateLimiter;
+        this.authResponseWriter = authResponseWriter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimiter.CompiledRule rule = rateLimiter.match(request.getMethod(), path);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Object userId = request.getAttribute("userId");
+        String principal = userId != null ? "u:" + userId : "ip:" + request.getRemoteAddr();
+        long wait = rateLimiter.tryAcquire(rule, principal);
+        if (wait > 0) {
+            authResponseWriter.writeTooManyRequests(response, RateLimiter.retryAfterSeconds(wait));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,70 @@
+package com.rawlogin.config.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 限流配置（rawlogin.rate-limit.*）
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rawlogin.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * 是否启用限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 令牌桶数量上限，超过时新键共用所属规则的溢出桶
+     */
+    private int maxKeys = 100000;
+
+    /**
+     * 回收空闲（已满）令牌桶的间隔
+     */
+    private Duration sweepInterval = Duration.ofSeconds(30);
+
+    /**
+     * 限流规则，按顺序匹配，第一条匹配的规则生效
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * 单条限流规则：每个调用方（已认证为用户ID，匿名为IP）一个令牌桶
+     */
+    @Data
+    public static class Rule {
+
+        /**
+         * 路径模式（Ant风格，不含context-path），如 /api/users/**
+         */
+        private String pattern;
+
+        /**
+         * 限定的HTTP方法，为空表示全部
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * 桶容量（允许的突发请求数）
+         */
+        private int capacity;
+
+        /**
+         * 每个周期补充的令牌数
+         */
+        private int tokens;
+
+        /**
+         * 补充周期
+         */
+        private Duration period = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,178 @@
+package com.rawlogin.config.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流器
+ * 按配置的规则为每个调用方维护令牌桶。令牌桶数量有上限，
+ * 达到上限后新调用方共用所属规则的溢出桶；已满（空闲）的桶定期回收，回收不改变限流结果
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    private static final Counter overflowCounter = Counter.builder("rawlogin.ratelimit.overflow")
+            .register(Metrics.globalRegistry);
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private CompiledRule[] rules = new CompiledRule[0];
+
+    /**
+     * 编译限流规则并启动空闲桶回收
+     */
+    @PostConstruct
+    public void init() {
+        List<CompiledRule> compiled = new ArrayList<>();
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            if (rule.getPattern() == null || rule.getCapacity() <= 0 || rule.getTokens() <= 0) {
+                throw new IllegalStateException("限流规则配置错误: " + rule);
+            }
+            compiled.add(new CompiledRule(compiled.size(), rule));
+        }
+        this.rules = compiled.toArray(new CompiledRule[0]);
+        Gauge.builder("rawlogin.ratelimit.buckets", buckets, Map::size).register(Metrics.globalRegistry);
+        if (properties.isEnabled() && rules.length > 0) {
+            taskScheduler.scheduleWithFixedDelay(this::evictIdle, properties.getSweepInterval());
+        }
+        logger.info("限流规则 {} 条，{}", rules.length, properties.isEnabled() ? "已启用" : "未启用");
+    }
+
+    /**
+     * 查找请求匹配的限流规则
+     * @param method HTTP方法
+     * @param path 请求路径（不含context-path）
+     * @return 匹配的规则，未启用或无匹配时返回null
+     */
+    public CompiledRule match(String method, String path) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        for (CompiledRule rule : rules) {
+            if (rule.matches(pathMatcher, method, path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 为调用方获取一个令牌
+     * @param rule 限流规则
+     * @param principal 调用方标识（u:用户ID 或 ip:地址）
+     * @return 0表示放行，否则为需要等待的纳秒数
+     */
+    public long tryAcquire(CompiledRule rule, String principal) {
+        long now = System.nanoTime();
+        String key = rule.id + "|" + principal;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxKeys()) {
+                overflowCounter.increment();
+                bucket = rule.overflow;
+            } else {
+                bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+            }
+        }
+        long wait = bucket.tryAcquire(now, rule.intervalNanos, rule.toleranceNanos);
+        if (wait > 0) {
+            rule.rejected.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * 拒绝时的等待秒数（Retry-After，向上取整）
+     * @param waitNanos 等待纳秒数
+     * @return 秒数
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        return Math.max(1, (waitNanos + second - 1) / second);
+    }
+
+    /**
+     * 回收已满的令牌桶
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        logger.debug("回收空闲令牌桶 {} 个，剩余 {} 个", before - buckets.size(), buckets.size());
+    }
+
+    /**
+     * 编译后的限流规则
+     */
+    public static final class CompiledRule {
+
+        private final int id;
+
+        private final String pattern;
+
+        private final String[] methods;
+
+        private final long intervalNanos;
+
+        private final long toleranceNanos;
+
+        private final TokenBucket overflow;
+
+        private final Counter rejected;
+
+        CompiledRule(int id, RateLimitProperties.Rule rule) {
+            this.id = id;
+            this.pattern = rule.getPattern();
+            this.methods = rule.getMethods().stream()
+                    .map(method -> method.trim().toUpperCase(Locale.ROOT))
+                    .toArray(String[]::new);
+            this.intervalNanos = Math.max(1, rule.getPeriod().toNanos() / rule.getTokens());
+            this.toleranceNanos = intervalNanos * (rule.getCapacity() - 1);
+            this.overflow = new TokenBucket(System.nanoTime());
+            this.rejected = Counter.builder("rawlogin.ratelimit.rejected")
+                    .tag("rule", pattern)
+                    .register(Metrics.globalRegistry);
+        }
+
+        boolean matches(AntPathMatcher pathMatcher, String method, String path) {
+            if (methods.length > 0) {
+                boolean methodMatched = false;
+                for (String candidate : methods) {
+                    if (candidate.equals(method)) {
+                        methodMatched = true;
+                        break;
+                    }
+                }
+                if (!methodMatched) {
+                    return false;
+                }
+            }
+            return pathMatcher.match(pattern, path);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.rawlogin.config.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶
+ * 以GCRA（通用信元速率算法）实现，整个桶的状态只有一个“理论到达时间”：
+ * 每放行一个请求向后推进一个令牌间隔，领先当前时间超过突发容差即拒绝。
+ * 理论到达时间不晚于当前时间的桶是满的，与新建的桶等价，可以直接回收
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long now) {
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * 尝试获取一个令牌
+     * @param now 当前时间（纳秒）
+     * @param interval 令牌间隔（纳秒）
+     * @param tolerance 突发容差，即 (容量 - 1) * 令牌间隔
+     * @return 0表示放行，否则为需要等待的纳秒数
+     */
+    long tryAcquire(long now, long interval, long tolerance) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long start = tat - now > 0 ? tat : now;
+            long wait = start - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 桶是否已满（空闲）
+     * @param now 当前时间（纳秒）
+     * @return 是否已满
+     */
+    boolean isFull(long now) {
+        return theoreticalArrival.get() - now <= 0;
+    }
+}
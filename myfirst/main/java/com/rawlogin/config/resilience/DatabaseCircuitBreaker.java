@@ -0,0 +1,144 @@
+package com.rawlogin.config.resilience;
+
+import com.rawlogin.exception.DatabaseUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 数据库熔断器
+ * 连续出现连接类失败（连接超时、连接断开、获取连接超时等）达到阈值后打开，打开期间数据库访问立即失败；
+ * 打开一段时间后进入半开状态，放行一个探测请求，成功则关闭，失败则重新打开。
+ * SQL语法、约束冲突等说明数据库可达的错误不计为失败
+ */
+@Component
+public class DatabaseCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseCircuitBreaker.class);
+
+    @Value("${rawlogin.db-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${rawlogin.db-breaker.open-duration:10s}")
+    private Duration openDuration;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    /**
+     * 打开时间（System.nanoTime），0表示关闭
+     */
+    private final AtomicLong openedAt = new AtomicLong();
+
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+
+    public DatabaseCircuitBreaker() {
+        Gauge.builder("rawlogin.db.breaker.open", this, breaker -> breaker.isOpen() ? 1 : 0)
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * 是否允许访问数据库
+     * @return 关闭状态或半开状态的探测请求返回true
+     */
+    public boolean allowRequest() {
+        long opened = openedAt.get();
+        if (opened == 0) {
+            return true;
+        }
+        if (System.nanoTime() - opened < openDuration.toNanos()) {
+            return false;
+        }
+        return probeInFlight.compareAndSet(false, true);
+    }
+
+    /**
+     * 记录一次成功的数据库访问
+     */
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (openedAt.get() != 0) {
+            openedAt.set(0);
+            probeInFlight.set(false);
+            logger.info("数据库熔断器已关闭");
+        }
+    }
+
+    /**
+     * 记录一次数据库不可用的失败
+     */
+    public void onFailure() {
+        long opened = openedAt.get();
+        if (opened != 0) {
+            // 半开探测失败，重新打开
+            if (probeInFlight.compareAndSet(true, false)) {
+                openedAt.set(nonZeroNanoTime());
+                logger.warn("数据库探测失败，熔断器重新打开 {}", openDuration);
+            }
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold
+                && openedAt.compareAndSet(0, nonZeroNanoTime())) {
+            logger.error("数据库连续 {} 次访问失败，熔断器打开 {}", failureThreshold, openDuration);
+        }
+    }
+
+    /**
+     * 熔断器是否处于打开或半开状态（降级模式）
+     * @return 是否降级
+     */
+    public boolean isOpen() {
+        return openedAt.get() != 0;
+    }
+
+    /**
+     * 熔断器是否处于打开状态且尚未到达半开时间（此时数据库访问一定被拒绝）
+     * 半开状态返回false，请求可以作为探测访问数据库
+     * @return 是否拒绝访问
+     */
+    public boolean isRejecting() {
+        long opened = openedAt.get();
+        return opened != 0 && System.nanoTime() - opened < openDuration.toNanos();
+    }
+
+    /**
+     * 判断异常是否表示数据库不可用（而非SQL本身的错误）
+     * @param error 异常
+     * @return 是否数据库不可用
+     */
+    public static boolean isUnavailable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException
+                    || cause instanceof SQLNonTransientConnectionException
+                    || cause instanceof CannotGetJdbcConnectionException
+                    || cause instanceof SocketException
+                    || cause instanceof SocketTimeoutException
+                    || cause instanceof DatabaseUnavailableException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private long nonZeroNanoTime() {
+        long now = System.nanoTime();
+        return now == 0 ? 1 : now;
+    }
+}
@@ -0,0 +1,54 @@
+package com.rawlogin.config.resilience;
+
+import com.rawlogin.exception.DatabaseUnavailableException;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * 数据库熔断拦截器
+ * 熔断器打开时Mapper调用立即失败，不再等待获取连接；每次执行的结果反馈给熔断器
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class DatabaseCircuitBreakerInterceptor implements Interceptor {
+
+    private final DatabaseCircuitBreaker circuitBreaker;
+
+    public DatabaseCircuitBreakerInterceptor(DatabaseCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (!circuitBreaker.allowRequest()) {
+            throw new DatabaseUnavailableException("数据库暂不可用");
+        }
+        try {
+            Object result = invocation.proceed();
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (Throwable e) {
+            if (DatabaseCircuitBreaker.isUnavailable(e)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            throw e;
+        }
+    }
+}
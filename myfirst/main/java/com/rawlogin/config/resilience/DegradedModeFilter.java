@@ -0,0 +1,61 @@
+package com.rawlogin.config.resilience;
+
+import com.rawlogin.interceptor.AuthResponseWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * 降级模式过滤器
+ * 数据库熔断器打开期间，修改类请求（非GET/HEAD/OPTIONS）直接返回503；
+ * 半开状态不拦截，修改类请求（包括登录）可以作为探测请求恢复熔断器，不必等待只读请求探测；
+ * 只读请求继续处理，其授权使用权限存储中最近一次的权限数据。
+ * 以POST传参的只读接口（批量授权判定）同样继续处理
+ */
+public class DegradedModeFilter extends OncePerRequestFilter {
+
+    private static final Counter rejectedCounter = Counter.builder("rawlogin.degraded.rejected")
+            .register(Metrics.globalRegistry);
+
+    /**
+     * 使用POST但不修改数据的接口路径（不含上下文路径）
+     */
+    private static final Set<String> READ_ONLY_POST_PATHS = Collections.singleton("/api/authz/decisions");
+
+    private final DatabaseCircuitBreaker circuitBreaker;
+
+    private final AuthResponseWriter authResponseWriter;
+
+    public DegradedModeFilter(DatabaseCircuitBreaker circuitBreaker, AuthResponseWriter authResponseWriter) {
+        this.circuitBreaker = circuitBreaker;
+        this.authResponseWriter = authResponseWriter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (circuitBreaker.isRejecting() && isMutation(request)) {
+            rejectedCounter.increment();
+            authResponseWriter.writeServiceUnavailable(response);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isMutation(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !("POST".equals(method) && READ_ONLY_POST_PATHS.contains(path));
+    }
+}
@@ -3,20 +3,22 @@ package com.rawlogin.domain.service;
 import com.rawlogin.domain.repository.RoleRepository;
 import com.rawlogin.application.dto.RoleDTO;
 import com.rawlogin.common.Result;
+import com.rawlogin.config.auth.PermissionStore;
 import com.rawlogin.infrastructure.persistence.RolePermissionMapper;
-import com.rawlogin.infrastructure.po.RolePermissionPO;
 import com.rawlogin.infrastructure.persistence.PermissionMapper;
 import com.rawlogin.infrastructure.po.PermissionPO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * 角色领域服务
  * 处理角色相关的业务逻辑
+ * 校验读取在事务外完成，事务只包住角色和权限关联的写入，结果在提交后重新读取
  */
 @Service
 public class RoleDomainService {
@@ -30,6 +32,12 @@ public class RoleDomainService {
     @Autowired
     private PermissionMapper permissionMapper;
     
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PermissionStore permissionStore;
+    
     /**
      * 获取所有角色
      * @return 角色列表
@@ -90,12 +98,14 @@ public class RoleDomainService {
                 return Result.error("角色代码已存在");
             }
             
-            RoleDTO savedRole = roleRepository.save(roleDTO);
-            
-            // 为新创建的角色设置权限
-            if (savedRole != null && roleDTO.getPermissions() != null && !roleDTO.getPermissions().isEmpty()) {
-                updateRolePermissions(savedRole.getId(), roleDTO.getPermissions());
-            }
+            // 保存角色并设置权限（同一事务）
+            RoleDTO savedRole = transactionTemplate.execute(status -> {
+                RoleDTO saved = roleRepository.save(roleDTO);
+                if (saved != null && roleDTO.getPermissions() != null && !roleDTO.getPermissions().isEmpty()) {
+                    updateRolePermissions(saved.getId(), roleDTO.getPermissions());
+                }
+                return saved;
+            });
             
             // 重新获取角色信息（包括权限）
             RoleDTO roleWithPermissions = roleRepository.findById(savedRole.getId());
@@ -111,7 +121,6 @@ public class RoleDomainService {
      * @param roleDTO 角色数据传输对象
      * @return 更新结果
      */
-    @Transactional
     public Result<RoleDTO> updateRole(RoleDTO roleDTO) {
         try {
             // 检查角色是否存在
@@ -131,14 +140,16 @@ public class RoleDomainService {
                 return Result.error("角色代码已被其他角色使用");
             }
             
-            // 更新角色基本信息
-            RoleDTO updatedRole = roleRepository.update(roleDTO);
-            
-            // 更新角色权限
-            updateRolePermissions(roleDTO.getId(), roleDTO.getPermissions());
+            // 更新角色基本信息和权限（同一事务）
+            transactionTemplate.executeWithoutResult(status -> {
+                roleRepository.update(roleDTO);
+                updateRolePermissions(roleDTO.getId(), roleDTO.getPermissions());
+            });
+            // 角色权限变更影响所有持有该角色的用户
+            permissionStore.invalidateAll();
             
             // 重新获取角色信息（包括权限）
-            updatedRole = roleRepository.findById(roleDTO.getId());
+            RoleDTO updatedRole = roleRepository.findById(roleDTO.getId());
             
             return Result.success("角色更新成功", updatedRole);
         } catch (Exception e) {
@@ -166,6 +177,7 @@ public class RoleDomainService {
             
             boolean success = roleRepository.deleteById(id);
             if (success) {
+                permissionStore.invalidateAll();
                 return Result.success("角色删除成功");
             } else {
                 return Result.error("角色删除失败");
@@ -195,6 +207,7 @@ public class RoleDomainService {
             
             boolean success = roleRepository.batchDeleteByIds(ids);
             if (success) {
+                permissionStore.invalidateAll();
                 return Result.success("批量删除角色成功");
             } else {
                 return Result.error("批量删除角色失败");
@@ -312,17 +325,19 @@ public class RoleDomainService {
         
         // 先删除角色现有的所有权限
         rolePermissionMapper.deleteByRoleId(roleId);
+        if (permissionCodes.isEmpty()) {
+            return;
+        }
         
-        // 为角色添加新权限
-        for (String permissionCode : permissionCodes) {
-            // 根据权限代码查找权限ID
-            PermissionPO permission = permissionMapper.findByCode(permissionCode);
-            if (permission != null) {
-                RolePermissionPO rolePermission = new RolePermissionPO();
-                rolePermission.setRoleId(roleId);
-                rolePermission.setPermissionId(permission.getId());
-                rolePermissionMapper.insert(rolePermission);
-            }
+        // 一次查询解析所有权限代码，不存在的代码忽略
+        List<Integer> permissionIds = permissionMapper.findByCodes(new LinkedHashSet<>(permissionCodes)).stream()
+                .map(PermissionPO::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        
+        // 为角色批量添加新权限
+        if (!permissionIds.isEmpty()) {
+            rolePermissionMapper.batchInsert(roleId, permissionIds);
         }
     }
 
@@ -1,5 +1,6 @@
 package com.rawlogin.domain.service;
 
+import com.rawlogin.config.auth.PermissionStore;
 import com.rawlogin.domain.repository.UserRepository;
 import com.rawlogin.domain.repository.RoleRepository;
 import com.rawlogin.application.dto.RoleDTO;
@@ -28,6 +29,9 @@ public class UserRoleDomainService {
     
     @Autowired
     private UserRoleMapper userRoleMapper;
+
+    @Autowired
+    private PermissionStore permissionStore;
     
     /**
      * 获取用户的所有角色
@@ -88,6 +92,7 @@ public class UserRoleDomainService {
             userRoleMapper.updateUserRoleById(userPO);
         }
         
+        permissionStore.invalidate(userId);
         return true;
     }
     
@@ -120,6 +125,7 @@ public class UserRoleDomainService {
      */
     @Transactional(rollbackFor = Exception.class)
     public boolean removeAllRolesFromUser(Integer userId) {
+        permissionStore.invalidate(userId);
         return userRoleMapper.deleteByUserId(userId) > 0;
     }
     
@@ -131,6 +137,7 @@ public class UserRoleDomainService {
      */
     @Transactional(rollbackFor = Exception.class)
     public boolean removeRoleFromUser(Integer userId, Integer roleId) {
+        permissionStore.invalidate(userId);
         return userRoleMapper.deleteByUserIdAndRoleId(userId, roleId) > 0;
     }
     
@@ -0,0 +1,18 @@
+package com.rawlogin.exception;
+
+import com.rawlogin.common.ResultCode;
+
+/**
+ * 数据库不可用异常
+ * 数据库熔断器打开期间的快速失败，或降级数据超出允许的陈旧时间时抛出，对应HTTP 503
+ */
+public class DatabaseUnavailableException extends BusinessException {
+
+    public DatabaseUnavailableException(String message) {
+        super(ResultCode.SERVICE_UNAVAILABLE, message);
+    }
+
+    public DatabaseUnavailableException(String message, Throwable cause) {
+        super(ResultCode.SERVICE_UNAVAILABLE, message, cause);
+    }
+}
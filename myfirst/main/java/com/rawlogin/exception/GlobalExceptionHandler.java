@@ -1,6 +1,8 @@
 package com.rawlogin.exception;
 
 import com.rawlogin.common.Result;
+import com.rawlogin.common.ResultCode;
+import com.rawlogin.config.resilience.DatabaseCircuitBreaker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -29,6 +31,19 @@ public class GlobalExceptionHandler {
                 .body(Result.error(e.getCode(), e.getMessage()));
     }
     
+    /**
+     * 处理数据库不可用异常（熔断快速失败、降级权限数据过旧）
+     * 属于预期的降级行为，按WARN记录且不输出堆栈
+     * @param e 数据库不可用异常
+     * @return 503响应
+     */
+    @ExceptionHandler(DatabaseUnavailableException.class)
+    public ResponseEntity<Result<Void>> handleDatabaseUnavailableException(DatabaseUnavailableException e) {
+        logger.warn("数据库不可用: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Result.error(ResultCode.SERVICE_UNAVAILABLE, "服务暂不可用，请稍后再试"));
+    }
+    
     /**
      * 处理参数异常
      * @param e 参数异常
@@ -48,6 +63,12 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Result<Void>> handleRuntimeException(RuntimeException e) {
+        if (DatabaseCircuitBreaker.isUnavailable(e)) {
+            // 数据库不可用（含熔断快速失败，经MyBatis包装后到达这里）
+            logger.warn("数据库不可用: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Result.error(ResultCode.SERVICE_UNAVAILABLE, "服务暂不可用，请稍后再试"));
+        }
         logger.error("运行时异常: {}", e.getMessage(), e);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Result.error(500, "系统内部错误"));
@@ -2,10 +2,12 @@ package com.rawlogin.infrastructure.persistence;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.rawlogin.infrastructure.po.PermissionPO;
+import com.rawlogin.infrastructure.po.UserPermissionPO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -50,5 +52,32 @@ public interface PermissionMapper extends BaseMapper<PermissionPO> {
             "WHERE ur.user_id = #{userId}")
     List<PermissionPO> findByUserId(@Param("userId") Integer userId);
     
-
+    /**
+     * 根据用户ID批量查询权限代码
+     * @param userIds 用户ID列表（不能为空）
+     * @return 用户权限列表，没有任何权限的用户不出现在结果中
+     */
+    @Select("<script>" +
+            "SELECT DISTINCT ur.user_id, p.code FROM permissions p " +
+            "INNER JOIN role_permissions rp ON p.id = rp.permission_id " +
+            "INNER JOIN user_roles ur ON rp.role_id = ur.role_id " +
+            "WHERE ur.user_id IN " +
+            "<foreach item='userId' collection='userIds' open='(' separator=',' close=')'>" +
+            "#{userId}" +
+            "</foreach>" +
+            "</script>")
+    List<UserPermissionPO> findCodesByUserIds(@Param("userIds") Collection<Integer> userIds);
+    
+    /**
+     * 根据权限代码批量查询权限
+     * @param codes 权限代码列表（不能为空）
+     * @return 权限列表
+     */
+    @Select("<script>" +
+            "SELECT * FROM permissions WHERE code IN " +
+            "<foreach item='code' collection='codes' open='(' separator=',' close=')'>" +
+            "#{code}" +
+            "</foreach>" +
+            "</script>")
+    List<PermissionPO> findByCodes(@Param("codes") Collection<String> codes);
 }
\ No newline at end of file
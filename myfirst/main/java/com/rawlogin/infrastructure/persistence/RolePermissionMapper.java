@@ -3,10 +3,13 @@ package com.rawlogin.infrastructure.persistence;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.rawlogin.infrastructure.po.RolePermissionPO;
 import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.List;
+
 /**
  * 角色权限关联数据访问接口
  */
@@ -29,4 +32,18 @@ public interface RolePermissionMapper extends BaseMapper<RolePermissionPO> {
      */
     @Delete("DELETE FROM role_permissions WHERE role_id = #{roleId} AND permission_id = #{permissionId}")
     int deleteByRoleIdAndPermissionId(@Param("roleId") Integer roleId, @Param("permissionId") Integer permissionId);
+    
+    /**
+     * 为角色批量添加权限关联（单条多值INSERT）
+     * @param roleId 角色ID
+     * @param permissionIds 权限ID列表（不能为空）
+     * @return 插入的记录数
+     */
+    @Insert("<script>" +
+            "INSERT INTO role_permissions (role_id, permission_id) VALUES " +
+            "<foreach item='permissionId' collection='permissionIds' separator=','>" +
+            "(#{roleId}, #{permissionId})" +
+            "</foreach>" +
+            "</script>")
+    int batchInsert(@Param("roleId") Integer roleId, @Param("permissionIds") List<Integer> permissionIds);
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +25,32 @@ public interface UserMapper extends BaseMapper<UserPO> {
     @Select("SELECT * FROM users WHERE username = #{username}")
     UserPO selectByUsername(@Param("username") String username);
     
+    /**
+     * 根据用户名批量查找用户
+     * @param usernames 用户名列表（不能为空）
+     * @return 用户列表
+     */
+    @Select("<script>" +
+            "SELECT * FROM users WHERE username IN " +
+            "<foreach item='username' collection='usernames' open='(' separator=',' close=')'>" +
+            "#{username}" +
+            "</foreach>" +
+            "</script>")
+    List<UserPO> selectByUsernames(@Param("usernames") Collection<String> usernames);
+    
+    /**
+     * 查询存在的用户ID
+     * @param ids 用户ID列表（不能为空）
+     * @return 其中存在的用户ID
+     */
+    @Select("<script>" +
+            "SELECT id FROM users WHERE id IN " +
+            "<foreach item='id' collection='ids' open='(' separator=',' close=')'>" +
+            "#{id}" +
+            "</foreach>" +
+            "</script>")
+    List<Integer> selectExistingIds(@Param("ids") Collection<Integer> ids);
+    
     /**
      * 检查用户名是否存在
      * @param username 用户名
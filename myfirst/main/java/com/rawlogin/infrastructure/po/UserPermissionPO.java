@@ -0,0 +1,25 @@
+package com.rawlogin.infrastructure.po;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * 用户权限查询结果
+ * 用户ID与其经角色获得的权限代码，不对应单独的表
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPermissionPO {
+    
+    /**
+     * 用户ID
+     */
+    private Integer userId;
+    
+    /**
+     * 权限代码
+     */
+    private String code;
+}
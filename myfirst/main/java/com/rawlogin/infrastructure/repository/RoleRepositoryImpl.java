@@ -1,5 +1,6 @@
 package com.rawlogin.infrastructure.repository;
 
+import com.rawlogin.config.datasource.ReadWriteRoutingContext;
 import com.rawlogin.domain.repository.RoleRepository;
 import com.rawlogin.application.dto.RoleDTO;
 import com.rawlogin.infrastructure.po.RolePO;
@@ -25,6 +26,24 @@ public class RoleRepositoryImpl implements RoleRepository {
     
     @Autowired
     private PermissionMapper permissionMapper;
+
+    @Autowired
+    private ReadWriteRoutingContext routingContext;
+
+    /**
+     * 按ID、按代码、按用户查询角色及按角色查询权限的并发合并（刚写过数据的用户不合并，保证读己之写）
+     */
+    private final SingleFlight<Integer, RolePO> byId =
+            new SingleFlight<>("role.by-id", () -> this.routingContext.isStickyToPrimary());
+
+    private final SingleFlight<String, RolePO> byCode =
+            new SingleFlight<>("role.by-code", () -> this.routingContext.isStickyToPrimary());
+
+    private final SingleFlight<Integer, List<RolePO>> byUserId =
+            new SingleFlight<>("role.by-user", () -> this.routingContext.isStickyToPrimary());
+
+    private final SingleFlight<Integer, List<PermissionPO>> permissionsByRoleId =
+            new SingleFlight<>("role.permissions", () -> this.routingContext.isStickyToPrimary());
     
     @Override
     public List<RoleDTO> findAll() {
@@ -41,7 +60,7 @@ public class RoleRepositoryImpl implements RoleRepository {
     
     @Override
     public RoleDTO findById(Integer id) {
-        RolePO rolePO = roleMapper.selectById(id);
+        RolePO rolePO = byId.execute(id, () -> roleMapper.selectById(id));
         if (rolePO == null) {
             return null;
         }
@@ -52,7 +71,7 @@ public class RoleRepositoryImpl implements RoleRepository {
     
     @Override
     public RoleDTO findByCode(String code) {
-        RolePO rolePO = roleMapper.findByCode(code);
+        RolePO rolePO = byCode.execute(code, () -> roleMapper.findByCode(code));
         if (rolePO == null) {
             return null;
         }
@@ -111,7 +130,7 @@ public class RoleRepositoryImpl implements RoleRepository {
     
     @Override
     public List<RoleDTO> findRolesByUserId(Integer userId) {
-        List<RolePO> rolePOs = roleMapper.findByUserId(userId);
+        List<RolePO> rolePOs = byUserId.execute(userId, () -> roleMapper.findByUserId(userId));
         List<RoleDTO> roleDTOs = RoleConverter.toDTOList(rolePOs);
         
         // 为每个角色加载权限信息
@@ -134,7 +153,7 @@ public class RoleRepositoryImpl implements RoleRepository {
         
         // 通过角色ID获取权限列表
         List<PermissionPO> permissionPOs =
-            permissionMapper.findByRoleId(roleId);
+            permissionsByRoleId.execute(roleId, () -> permissionMapper.findByRoleId(roleId));
         
         // 如果没有找到权限，返回空列表而不是null
         if (permissionPOs == null || permissionPOs.isEmpty()) {
@@ -0,0 +1,107 @@
+package com.rawlogin.infrastructure.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 并发相同查询合并（single-flight）
+ * 同一键同时只执行一次查询，查询期间到达的相同请求等待并共享其结果（或异常），
+ * 避免冷启动、缓存失效时大量并发请求同时打到数据库。
+ * 只合并已在进行中的查询，不缓存结果；共享的结果对象会被多个调用方持有，调用方须先转换再修改。
+ * 在读写事务中（需要读到本事务的写入）或满足绕过条件时直接查询
+ *
+ * @param <K> 查询键
+ * @param <V> 查询结果
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final BooleanSupplier bypass;
+
+    private final Counter executedCounter;
+
+    private final Counter coalescedCounter;
+
+    private final Counter bypassedCounter;
+
+    /**
+     * @param name 查询名称（指标标签）
+     * @param bypass 为true时不合并，如当前用户需要读己之写
+     */
+    public SingleFlight(String name, BooleanSupplier bypass) {
+        this.bypass = bypass;
+        this.executedCounter = counter(name, "executed");
+        this.coalescedCounter = counter(name, "coalesced");
+        this.bypassedCounter = counter(name, "bypassed");
+    }
+
+    /**
+     * 执行查询，相同键的查询正在进行时等待其结果
+     * @param key 查询键（不可为null）
+     * @param loader 查询
+     * @return 查询结果
+     */
+    public V execute(K key, Supplier<V> loader) {
+        if (key == null || inReadWriteTransaction() || bypass.getAsBoolean()) {
+            bypassedCounter.increment();
+            return loader.get();
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return await(existing);
+        }
+
+        executedCounter.increment();
+        V result;
+        try {
+            result = loader.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        // 先移除再完成，之后到达的请求发起新查询，不会拿到开始于其之前的结果
+        inFlight.remove(key, future);
+        future.complete(result);
+        return result;
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private boolean inReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private static Counter counter(String name, String result) {
+        return Counter.builder("rawlogin.singleflight.calls")
+                .tag("query", name)
+                .tag("result", result)
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -1,12 +1,14 @@
 package com.rawlogin.infrastructure.repository;
 
 import com.rawlogin.application.dto.UserDTO;
+import com.rawlogin.config.datasource.ReadWriteRoutingContext;
 import com.rawlogin.domain.repository.UserRepository;
 import com.rawlogin.infrastructure.persistence.UserMapper;
 import com.rawlogin.infrastructure.po.UserPO;
 import com.rawlogin.application.converter.UserConverter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +22,21 @@ public class UserRepositoryImpl implements UserRepository {
     
     @Autowired
     private UserMapper userMapper;
+
+    @Autowired
+    private ReadWriteRoutingContext routingContext;
+
+    @Autowired
+    private UsernameBatchLoader usernameBatchLoader;
+
+    /**
+     * 按ID、按用户名查询的并发合并（刚写过数据的用户不合并，保证读己之写）
+     */
+    private final SingleFlight<Integer, UserPO> byId =
+            new SingleFlight<>("user.by-id", () -> this.routingContext.isStickyToPrimary());
+
+    private final SingleFlight<String, UserPO> byUsername =
+            new SingleFlight<>("user.by-username", () -> this.routingContext.isStickyToPrimary());
     
     @Override
     public UserDTO save(UserDTO userDTO) {
@@ -30,13 +47,23 @@ public class UserRepositoryImpl implements UserRepository {
     
     @Override
     public Optional<UserDTO> findById(Integer id) {
-        UserPO po = userMapper.selectById(id);
+        UserPO po = byId.execute(id, () -> userMapper.selectById(id));
         return Optional.ofNullable(UserConverter.toDTO(po));
     }
     
     @Override
     public Optional<UserDTO> findByUsername(String username) {
-        UserPO po = userMapper.selectByUsername(username);
+        UserPO po;
+        if (username != null && usernameBatchLoader.isEnabled()
+                && !TransactionSynchronizationManager.isActualTransactionActive()
+                && !routingContext.isStickyToPrimary()) {
+            // 登录高峰：与同一窗口内的其他用户名合并为一次IN查询（批次内相同用户名也只查一次）
+            po = usernameBatchLoader.load(username);
+        } else {
+            // 登录查询走主库：注册后立即登录时从库可能还没有这一行，会被误计为一次失败尝试
+            po = byUsername.execute(username,
+                    () -> routingContext.onPrimary(() -> userMapper.selectByUsername(username)));
+        }
         return Optional.ofNullable(UserConverter.toDTO(po));
     }
     
@@ -0,0 +1,176 @@
+package com.rawlogin.infrastructure.repository;
+
+import com.rawlogin.config.datasource.ReadWriteRoutingContext;
+import com.rawlogin.infrastructure.persistence.UserMapper;
+import com.rawlogin.infrastructure.po.UserPO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 按用户名查询的微批处理（登录高峰用，默认关闭）
+ * 批次中第一个到达的请求线程负责收集：等待一个批处理窗口或凑满批次上限后，
+ * 用一条 WHERE username IN (...) 查询所有用户名，再把结果分发给各自的请求。
+ * 每个请求的额外延迟不超过一个窗口。
+ * 用户名先按原样匹配，匹配不到再忽略大小写匹配（与MySQL默认排序规则下单条查询的结果一致）。
+ * 查询走主库，刚注册的用户立即可以登录
+ */
+@Component
+public class UsernameBatchLoader {
+
+    private static final DistributionSummary batchSizeSummary = DistributionSummary
+            .builder("rawlogin.user.lookup.batch.size")
+            .register(Metrics.globalRegistry);
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private ReadWriteRoutingContext routingContext;
+
+    @Value("${rawlogin.login-batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${rawlogin.login-batch.window:2ms}")
+    private Duration window;
+
+    @Value("${rawlogin.login-batch.max-size:32}")
+    private int maxSize;
+
+    private final Object lock = new Object();
+
+    /**
+     * 正在收集的批次，为null时下一个请求开启新批次
+     */
+    private List<Pending> collecting;
+
+    /**
+     * 是否启用微批处理
+     * @return 是否启用
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 按用户名查询用户，与同一窗口内的其他查询合并执行
+     * @param username 用户名
+     * @return 用户，不存在时返回null（多个请求查询同一用户名时共享同一对象）
+     */
+    public UserPO load(String username) {
+        Pending pending = new Pending(username);
+        List<Pending> batch;
+        boolean leader;
+        synchronized (lock) {
+            leader = collecting == null;
+            if (leader) {
+                collecting = new ArrayList<>(maxSize);
+            }
+            batch = collecting;
+            batch.add(pending);
+            if (batch.size() >= maxSize) {
+                // 批次已满，唤醒负责收集的线程立即执行
+                collecting = null;
+                lock.notifyAll();
+            }
+        }
+
+        if (leader) {
+            awaitWindow(batch);
+            execute(batch);
+        }
+        return await(pending.result);
+    }
+
+    /**
+     * 等待批处理窗口结束或批次被凑满
+     */
+    private void awaitWindow(List<Pending> batch) {
+        long deadline = System.nanoTime() + window.toNanos();
+        synchronized (lock) {
+            try {
+                long remaining;
+                while (collecting == batch && (remaining = deadline - System.nanoTime()) > 0) {
+                    lock.wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (collecting == batch) {
+                    collecting = null;
+                }
+            }
+        }
+    }
+
+    private void execute(List<Pending> batch) {
+        batchSizeSummary.record(batch.size());
+        Set<String> usernames = new LinkedHashSet<>();
+        for (Pending pending : batch) {
+            usernames.add(pending.username);
+        }
+
+        List<UserPO> users;
+        try {
+            users = routingContext.onPrimary(() -> userMapper.selectByUsernames(usernames));
+        } catch (RuntimeException | Error e) {
+            for (Pending pending : batch) {
+                pending.result.completeExceptionally(e);
+            }
+            throw e;
+        }
+        for (Pending pending : batch) {
+            pending.result.complete(match(users, pending.username));
+        }
+    }
+
+    private UserPO match(List<UserPO> users, String username) {
+        for (UserPO user : users) {
+            if (username.equals(user.getUsername())) {
+                return user;
+            }
+        }
+        for (UserPO user : users) {
+            if (username.equalsIgnoreCase(user.getUsername())) {
+                return user;
+            }
+        }
+        return null;
+    }
+
+    private UserPO await(CompletableFuture<UserPO> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Pending {
+
+        final String username;
+
+        final CompletableFuture<UserPO> result = new CompletableFuture<>();
+
+        Pending(String username) {
+            this.username = username;
+        }
+    }
+}
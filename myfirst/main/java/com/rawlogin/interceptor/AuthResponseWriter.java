@@ -0,0 +1,138 @@
+package com.rawlogin.interceptor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rawlogin.common.Result;
+import com.rawlogin.common.ResultCode;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 认证授权错误响应写出器
+ * 固定的401、429、503响应体在启动时预先序列化为字节数组，拒绝请求时直接写入输出流；
+ * 动态响应使用Spring管理的ObjectMapper序列化
+ */
+@Component
+public class AuthResponseWriter {
+
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 未提供认证令牌
+     */
+    private final byte[] missingToken;
+
+    /**
+     * 认证令牌无效或已过期
+     */
+    private final byte[] invalidOrExpiredToken;
+
+    /**
+     * 认证令牌无效
+     */
+    private final byte[] invalidToken;
+
+    /**
+     * 请求过于频繁
+     */
+    private final byte[] tooManyRequests;
+
+    /**
+     * 服务繁忙
+     */
+    private final byte[] serviceUnavailable;
+
+    public AuthResponseWriter(ObjectMapper objectMapper) throws JsonProcessingException {
+        this.objectMapper = objectMapper;
+        this.missingToken = objectMapper.writeValueAsBytes(
+                Result.error(ResultCode.UNAUTHORIZED, "未提供认证令牌"));
+        this.invalidOrExpiredToken = objectMapper.writeValueAsBytes(
+                Result.error(ResultCode.UNAUTHORIZED, "认证令牌无效或已过期"));
+        this.invalidToken = objectMapper.writeValueAsBytes(
+                Result.error(ResultCode.UNAUTHORIZED, "认证令牌无效"));
+        this.tooManyRequests = objectMapper.writeValueAsBytes(
+                Result.error(ResultCode.TOO_MANY_REQUESTS, "请求过于频繁，请稍后再试"));
+        this.serviceUnavailable = objectMapper.writeValueAsBytes(
+                Result.error(ResultCode.SERVICE_UNAVAILABLE, "服务繁忙，请稍后再试"));
+    }
+
+    /**
+     * 发送“未提供认证令牌”响应
+     * @param response HTTP响应
+     * @throws IOException IO异常
+     */
+    public void writeMissingToken(HttpServletResponse response) throws IOException {
+        write(response, HttpServletResponse.SC_UNAUTHORIZED, missingToken);
+    }
+
+    /**
+     * 发送“认证令牌无效或已过期”响应
+     * @param response HTTP响应
+     * @throws IOException IO异常
+     */
+    public void writeInvalidOrExpiredToken(HttpServletResponse response) throws IOException {
+        write(response, HttpServletResponse.SC_UNAUTHORIZED, invalidOrExpiredToken);
+    }
+
+    /**
+     * 发送“认证令牌无效”响应
+     * @param response HTTP响应
+     * @throws IOException IO异常
+     */
+    public void writeInvalidToken(HttpServletResponse response) throws IOException {
+        write(response, HttpServletResponse.SC_UNAUTHORIZED, invalidToken);
+    }
+
+    /**
+     * 发送“请求过于频繁”响应
+     * @param response HTTP响应
+     * @param retryAfterSeconds 建议的重试等待秒数
+     * @throws IOException IO异常
+     */
+    public void writeTooManyRequests(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        write(response, ResultCode.TOO_MANY_REQUESTS, tooManyRequests);
+    }
+
+    /**
+     * 发送“服务繁忙”响应
+     * @param response HTTP响应
+     * @throws IOException IO异常
+     */
+    public void writeServiceUnavailable(HttpServletResponse response) throws IOException {
+        response.setHeader("Retry-After", "1");
+        write(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, serviceUnavailable);
+    }
+
+    /**
+     * 发送动态错误响应
+     * @param response HTTP响应
+     * @param status HTTP状态码
+     * @param result 错误结果
+     * @throws IOException IO异常
+     */
+    public void write(HttpServletResponse response, int status, Result<?> result) throws IOException {
+        write(response, status, objectMapper.writeValueAsBytes(result));
+    }
+
+    /**
+     * 写出预先序列化的响应字节
+     * @param response HTTP响应
+     * @param status HTTP状态码
+     * @param body 响应体
+     * @throws IOException IO异常
+     */
+    public void write(HttpServletResponse response, int status, byte[] body) throws IOException {
+        response.setStatus(status);
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(body.length);
+        ServletOutputStream out = response.getOutputStream();
+        out.write(body);
+        out.flush();
+    }
+}
@@ -0,0 +1,153 @@
+package com.rawlogin.interceptor;
+
+import com.rawlogin.config.auth.AuthContext;
+import com.rawlogin.config.auth.AuthRequirement;
+import com.rawlogin.config.auth.AuthRequirementRegistry;
+import com.rawlogin.config.auth.PermissionEvaluator;
+import com.rawlogin.config.datasource.ReadWriteRoutingContext;
+import com.rawlogin.exception.DatabaseUnavailableException;
+import com.rawlogin.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT认证授权过滤器
+ * 在Servlet过滤器层完成唯一一次认证和授权：解析令牌得到当前用户，
+ * 按处理器方法预编译的@PreAuthorize权限表达式校验权限，
+ * 未通过的请求在Spring MVC分发、AOP代理和参数解析之前即被拒绝。
+ * /api下默认需要认证：只有显式标注@PreAuthorize(authenticated = false)的接口（登录、注册）公开，
+ * 未标注的接口和未匹配到处理器的请求同样需要令牌
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final Timer permissionGrantedTimer = Timer.builder("rawlogin.auth.permission.check")
+            .tag("outcome", "granted")
+            .register(Metrics.globalRegistry);
+
+    private static final Timer permissionDeniedTimer = Timer.builder("rawlogin.auth.permission.check")
+            .tag("outcome", "denied")
+            .register(Metrics.globalRegistry);
+
+    private static final Counter missingTokenCounter = Counter.builder("rawlogin.auth.rejected")
+            .tag("reason", "missing_token")
+            .register(Metrics.globalRegistry);
+
+    private static final Counter invalidTokenCounter = Counter.builder("rawlogin.auth.rejected")
+            .tag("reason", "invalid_token")
+            .register(Metrics.globalRegistry);
+
+    private final AuthRequirementRegistry authRequirementRegistry;
+
+    private final PermissionEvaluator permissionEvaluator;
+
+    private final JwtUtil jwtUtil;
+
+    private final AuthResponseWriter authResponseWriter;
+
+    private final ReadWriteRoutingContext routingContext;
+
+    public JwtAuthenticationFilter(AuthRequirementRegistry authRequirementRegistry,
+                                   PermissionEvaluator permissionEvaluator,
+                                   JwtUtil jwtUtil,
+                                   AuthResponseWriter authResponseWriter,
+                                   ReadWriteRoutingContext routingContext) {
+        this.authRequirementRegistry = authRequirementRegistry;
+        this.permissionEvaluator = permissionEvaluator;
+        this.jwtUtil = jwtUtil;
+        this.authResponseWriter = authResponseWriter;
+        this.routingContext = routingContext;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // 处理OPTIONS请求（CORS预检请求）
+        if ("OPTIONS".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 查找处理器方法的认证授权要求，只有显式声明为公开的接口不需要令牌
+        AuthRequirement requirement = authRequirementRegistry.getRequirement(
+                authRequirementRegistry.resolveHandler(request));
+        if (requirement != null && !requirement.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 获取请求头中的令牌
+        String token = request.getHeader("Authorization");
+        if (token == null || !token.startsWith(BEARER_PREFIX)) {
+            missingTokenCounter.increment();
+            authResponseWriter.writeMissingToken(response);
+            return;
+        }
+
+        // 验证并解析令牌（只解析一次）
+        Claims claims = jwtUtil.parseClaims(token.substring(BEARER_PREFIX.length()));
+        if (claims == null) {
+            invalidTokenCounter.increment();
+            authResponseWriter.writeInvalidOrExpiredToken(response);
+            return;
+        }
+
+        Integer userId;
+        String role;
+        try {
+            userId = claims.get("userId", Integer.class);
+            role = claims.get("role", String.class);
+        } catch (Exception e) {
+            // 客户端可任意构造，不输出堆栈
+            logger.warn("JWT令牌声明格式错误: {}", e.getMessage());
+            invalidTokenCounter.increment();
+            authResponseWriter.writeInvalidToken(response);
+            return;
+        }
+
+        // 将用户信息存储到请求属性中，供控制器使用
+        request.setAttribute("username", claims.getSubject());
+        request.setAttribute("userId", userId);
+        request.setAttribute("role", role);
+        // 读己之写：该用户刚写过数据时，后续读（含下面的权限查询）走主库
+        routingContext.bindUser(userId);
+
+        // 检查权限
+        if (requirement != null && requirement.requiresPermission()) {
+            long start = System.nanoTime();
+            boolean granted;
+            try {
+                granted = requirement.getExpression().evaluate(
+                        new AuthContext(userId, role, request, permissionEvaluator));
+            } catch (DatabaseUnavailableException e) {
+                // 数据库不可用且没有足够新的权限数据：拒绝服务而不是放行
+                logger.warn("权限数据不可用，拒绝请求: userId={}", userId);
+                authResponseWriter.writeServiceUnavailable(response);
+                return;
+            }
+            Timer timer = granted ? permissionGrantedTimer : permissionDeniedTimer;
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!granted) {
+                authResponseWriter.write(response, HttpServletResponse.SC_FORBIDDEN, requirement.getForbiddenBody());
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
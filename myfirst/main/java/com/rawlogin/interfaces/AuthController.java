@@ -7,10 +7,14 @@ import com.rawlogin.domain.model.User;
 import com.rawlogin.util.JwtUtil;
 import com.rawlogin.application.converter.UserConverter;
 import com.rawlogin.common.Result;
+import com.rawlogin.common.ResultCode;
 import com.rawlogin.config.annotation.PreAuthorize;
+import com.rawlogin.config.auth.LoginAttemptTracker;
+import com.rawlogin.config.auth.PermissionEvaluator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -28,23 +32,45 @@ public class AuthController {
     
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
     
+    /**
+     * 转发认证：需要校验的权限（由反向代理按路由设置）
+     */
+    private static final String REQUIRED_PERMISSION_HEADER = "X-Required-Permission";
+    
+    /**
+     * 转发认证：返回给反向代理的身份信息
+     */
+    private static final String USER_ID_HEADER = "X-User-Id";
+    
+    private static final String USER_ROLE_HEADER = "X-User-Role";
+    
     @Autowired
     private UserApplicationService userApplicationService;
     
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private PermissionEvaluator permissionEvaluator;
+    
+    @Autowired
+    private LoginAttemptTracker loginAttemptTracker;
+    
     /**
      * 用户登录接口
      * @param loginRequest 登录请求
+     * @param request HTTP请求（取客户端IP，部署在反向代理后需配置server.forward-headers-strategy）
      * @return 登录结果
      */
     @PostMapping("/login")
-    public ResponseEntity<Result<Map<String, Object>>> login(@RequestBody LoginRequest loginRequest) {
-        logger.info("用户登录尝试: {}", loginRequest.getUsername());
+    @PreAuthorize(authenticated = false)
+    public ResponseEntity<Result<Map<String, Object>>> login(@RequestBody LoginRequest loginRequest,
+                                                             HttpServletRequest request) {
+        logger.debug("用户登录尝试: {}", loginRequest.getUsername());
         
         // 调用应用服务层
-        Result<UserVO> result = userApplicationService.login(loginRequest.getUsername(), loginRequest.getPassword());
+        Result<UserVO> result = userApplicationService.login(loginRequest.getUsername(), loginRequest.getPassword(),
+                request.getRemoteAddr());
         
         if (result.isSuccess()) {
             // 登录成功，生成JWT令牌
@@ -56,11 +82,19 @@ public class AuthController {
             data.put("token", token);
             data.put("user", userVO);
             
-            logger.info("用户登录成功: {}", userVO.getUsername());
+            logger.debug("用户登录成功: {}", userVO.getUsername());
             return ResponseEntity.ok(Result.success("登录成功", data));
         } else {
             // 登录失败
             logger.warn("登录失败: {}", result.getMessage());
+            if (result.getCode() == ResultCode.TOO_MANY_REQUESTS || result.getCode() == ResultCode.ACCOUNT_LOCKED) {
+                LoginAttemptTracker.Rejection rejection = loginAttemptTracker.peek(loginRequest.getUsername(),
+                        request.getRemoteAddr());
+                long retryAfter = rejection != null ? rejection.getRetryAfterSeconds() : 1;
+                return ResponseEntity.status(429)
+                        .header("Retry-After", String.valueOf(retryAfter))
+                        .body(Result.error(result.getCode(), result.getMessage()));
+            }
             return ResponseEntity.status(401).body(Result.error(result.getMessage()));
         }
     }
@@ -71,8 +105,9 @@ public class AuthController {
      * @return 注册结果
      */
     @PostMapping("/register")
+    @PreAuthorize(authenticated = false)
     public ResponseEntity<Result<UserVO>> register(@RequestBody RegisterRequest registerRequest) {
-        logger.info("用户注册尝试: {}", registerRequest.getUsername());
+        logger.debug("用户注册尝试: {}", registerRequest.getUsername());
         
         // 创建用户DTO对象
         UserDTO userDTO = new UserDTO();
@@ -84,7 +119,7 @@ public class AuthController {
         Result<UserVO> result = userApplicationService.register(userDTO);
         
         if (result.isSuccess()) {
-            logger.info("用户注册成功: {}", registerRequest.getUsername());
+            logger.debug("用户注册成功: {}", registerRequest.getUsername());
             return ResponseEntity.ok(Result.success("注册成功", result.getData()));
         } else {
             logger.warn("用户注册失败: {} - {}", registerRequest.getUsername(), result.getMessage());
@@ -101,7 +136,7 @@ public class AuthController {
     @PreAuthorize(authenticated = true)
     public ResponseEntity<Result<UserVO>> getCurrentUser(HttpServletRequest request) {
         try {
-            // 从请求属性中获取用户信息（由JWT拦截器设置）
+            // 从请求属性中获取用户信息（由JWT认证过滤器设置）
             Integer userId = (Integer) request.getAttribute("userId");
             
             if (userId != null) {
@@ -119,6 +154,33 @@ public class AuthController {
         }
     }
     
+    /**
+     * 转发认证校验接口（nginx auth_request等）
+     * 令牌由JWT认证过滤器校验，不查询用户；可通过X-Required-Permission请求头要求指定权限（从权限存储判定）。
+     * 通过时返回204和X-User-Id、X-User-Role响应头，无响应体；令牌无效返回401，权限不足返回403
+     * @param request HTTP请求
+     * @return 校验结果
+     */
+    @GetMapping("/verify")
+    @PreAuthorize(authenticated = true)
+    public ResponseEntity<Void> verify(HttpServletRequest request) {
+        Integer userId = (Integer) request.getAttribute("userId");
+        String role = (String) request.getAttribute("role");
+        
+        String requiredPermission = request.getHeader(REQUIRED_PERMISSION_HEADER);
+        if (requiredPermission != null && !requiredPermission.trim().isEmpty()
+                && !permissionEvaluator.hasPermission(userId, requiredPermission.trim())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent()
+                .header(USER_ID_HEADER, String.valueOf(userId));
+        if (role != null) {
+            response.header(USER_ROLE_HEADER, role);
+        }
+        return response.build();
+    }
+    
     /**
      * 用户登出接口
      * @param request HTTP请求
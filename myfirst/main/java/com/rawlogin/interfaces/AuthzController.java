@@ -0,0 +1,115 @@
+package com.rawlogin.interfaces;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.rawlogin.common.Result;
+import com.rawlogin.common.ResultCode;
+import com.rawlogin.config.annotation.PreAuthorize;
+import com.rawlogin.config.auth.PermissionEvaluator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 授权判定接口控制器
+ * 供其他服务批量查询"用户X是否拥有权限Y"，与本服务接口的@PreAuthorize使用同一套权限数据和判定逻辑，
+ * 权限来自内存中的权限存储，缓存未命中的用户合并为一次查询加载。调用方使用拥有sys:authz:check权限的服务账号令牌。
+ * <pre>
+ * POST /api/authz/decisions
+ * {"checks": [[1, "sys:user:list"], [2, "sys:role:edit"]]}
+ * =&gt; {"code": 200, "data": {"decisions": "10"}, ...}
+ * </pre>
+ * decisions中第i个字符对应第i个检查，'1'为允许，'0'为拒绝（含未知权限代码和不存在的用户）
+ */
+@RestController
+@RequestMapping("/api/authz")
+public class AuthzController {
+
+    @Autowired
+    private PermissionEvaluator permissionEvaluator;
+
+    @Value("${rawlogin.authz.max-batch:1000}")
+    private int maxBatch;
+
+    /**
+     * 批量授权判定
+     * @param request 判定请求
+     * @return 判定结果
+     */
+    @PostMapping("/decisions")
+    @PreAuthorize(value = "sys:authz:check", authenticated = true)
+    public ResponseEntity<Result<Map<String, String>>> decide(@RequestBody DecisionRequest request) {
+        List<Check> checks = request.getChecks();
+        if (checks == null || checks.isEmpty()) {
+            return ResponseEntity.badRequest().body(Result.error(ResultCode.BAD_REQUEST, "检查列表不能为空"));
+        }
+        if (checks.size() > maxBatch) {
+            return ResponseEntity.badRequest().body(
+                    Result.error(ResultCode.BAD_REQUEST, "单次最多判定 " + maxBatch + " 条"));
+        }
+
+        List<Integer> userIds = new ArrayList<>(checks.size());
+        List<String> permissions = new ArrayList<>(checks.size());
+        for (Check check : checks) {
+            userIds.add(check != null ? check.getUserId() : null);
+            permissions.add(check != null ? check.getPermission() : null);
+        }
+
+        boolean[] allowed = permissionEvaluator.hasPermissions(userIds, permissions);
+        char[] decisions = new char[allowed.length];
+        for (int i = 0; i < allowed.length; i++) {
+            decisions[i] = allowed[i] ? '1' : '0';
+        }
+        return ResponseEntity.ok(Result.success(Collections.singletonMap("decisions", new String(decisions))));
+    }
+
+    /**
+     * 判定请求
+     */
+    public static class DecisionRequest {
+        private List<Check> checks;
+
+        public List<Check> getChecks() {
+            return checks;
+        }
+
+        public void setChecks(List<Check> checks) {
+            this.checks = checks;
+        }
+    }
+
+    /**
+     * 单个检查，以 [用户ID, 权限代码] 数组形式传输
+     */
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"userId", "permission"})
+    public static class Check {
+        private Integer userId;
+        private String permission;
+
+        public Integer getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Integer userId) {
+            this.userId = userId;
+        }
+
+        public String getPermission() {
+            return permission;
+        }
+
+        public void setPermission(String permission) {
+            this.permission = permission;
+        }
+    }
+}
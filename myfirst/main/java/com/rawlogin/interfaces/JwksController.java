@@ -0,0 +1,36 @@
+package com.rawlogin.interfaces;
+
+import com.rawlogin.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWKS接口控制器
+ * 发布令牌签名公钥（RFC 7517格式，不包装为Result），其他服务据此按令牌头的kid离线校验令牌并缓存公钥。
+ * HS256模式下没有可发布的公钥，keys为空
+ */
+@RestController
+public class JwksController {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    /**
+     * 获取签名公钥集合
+     * @return JWKS
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(Collections.singletonMap("keys", jwtUtil.getPublicJwks()));
+    }
+}
@@ -6,11 +6,15 @@ import com.rawlogin.interfaces.vo.RoleVO;
 import com.rawlogin.application.converter.RoleConverter;
 import com.rawlogin.common.Result;
 import com.rawlogin.config.annotation.PreAuthorize;
+import com.rawlogin.interfaces.cache.RoleJsonCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,29 +31,37 @@ public class RoleController {
     @Autowired
     private RoleApplicationService roleApplicationService;
     
+    @Autowired
+    private RoleJsonCache roleJsonCache;
+    
     /**
      * 获取所有角色列表接口
+     * 响应体由缓存的角色JSON片段拼接而成
      * @return 角色列表
+     * @throws IOException 序列化异常
      */
     @GetMapping
     @PreAuthorize(value = "sys:role:view", authenticated = true)
-    public Result<List<RoleVO>> getAllRoles() {
-        logger.info("获取所有角色列表");
+    public ResponseEntity<byte[]> getAllRoles() throws IOException {
+        logger.debug("获取所有角色列表");
         
-        return roleApplicationService.getAllRolesWithPermissions();
+        Result<List<RoleVO>> result = roleApplicationService.getAllRolesWithPermissions();
+        return json(roleJsonCache.writeList(result));
     }
     
     /**
      * 根据ID获取角色信息接口
      * @param id 角色ID
      * @return 角色信息
+     * @throws IOException 序列化异常
      */
     @GetMapping("/{id}")
     @PreAuthorize(value = "sys:role:view", authenticated = true)
-    public Result<RoleVO> getRoleById(@PathVariable Integer id) {
-        logger.info("根据ID获取角色信息: {}", id);
+    public ResponseEntity<byte[]> getRoleById(@PathVariable Integer id) throws IOException {
+        logger.debug("根据ID获取角色信息: {}", id);
         
-        return roleApplicationService.getRoleById(id);
+        Result<RoleVO> result = roleApplicationService.getRoleById(id);
+        return json(roleJsonCache.writeOne(result));
     }
     
     /**
@@ -59,17 +71,21 @@ public class RoleController {
      * @param status 角色状态（可选）
      * @param builtIn 是否内置角色（可选）
      * @return 查询结果
+     * @throws IOException 序列化异常
      */
     @GetMapping("/search")
     @PreAuthorize(value = "sys:role:view", authenticated = true)
-    public Result<List<RoleVO>> searchRoles(
+    public ResponseEntity<byte[]> searchRoles(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String code,
             @RequestParam(required = false) Integer status,
-            @RequestParam(required = false) Boolean builtIn) {
-        logger.info("根据条件查询角色: name={}, code={}, status={}, builtIn={}", name, code, status, builtIn);
+            @RequestParam(required = false) Boolean builtIn) throws IOException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("根据条件查询角色: name={}, code={}, status={}, builtIn={}", name, code, status, builtIn);
+        }
         
-        return roleApplicationService.searchRoles(name, code, status, builtIn);
+        Result<List<RoleVO>> result = roleApplicationService.searchRoles(name, code, status, builtIn);
+        return json(roleJsonCache.writeList(result));
     }
     
     /**
@@ -117,7 +133,9 @@ public class RoleController {
         roleDTO.setPermissions(roleUpdateRequest.getPermissions());
         
         // 调用应用服务层
-        return roleApplicationService.updateRole(roleDTO);
+        Result<RoleVO> result = roleApplicationService.updateRole(roleDTO);
+        roleJsonCache.evict(id);
+        return result;
     }
     
     /**
@@ -131,7 +149,9 @@ public class RoleController {
         logger.info("删除角色: {}", id);
         
         // 调用应用服务层
-        return roleApplicationService.deleteRole(id);
+        Result<Void> result = roleApplicationService.deleteRole(id);
+        roleJsonCache.evict(id);
+        return result;
     }
     
     /**
@@ -145,7 +165,11 @@ public class RoleController {
         logger.info("批量删除角色: {}", roleIds);
         
         // 调用应用服务层
-        return roleApplicationService.batchDeleteRoles(roleIds);
+        Result<Void> result = roleApplicationService.batchDeleteRoles(roleIds);
+        if (roleIds != null) {
+            roleIds.forEach(roleJsonCache::evict);
+        }
+        return result;
     }
     
     /**
@@ -180,6 +204,17 @@ public class RoleController {
         return Result.success("公开接口访问成功", "这是任何人都可以访问的公开接口");
     }
     
+    /**
+     * 构建JSON字节响应
+     * @param body UTF-8 JSON字节
+     * @return 响应实体
+     */
+    private ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+    
     /**
      * 角色创建请求DTO
      */
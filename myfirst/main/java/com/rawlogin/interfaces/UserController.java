@@ -37,7 +37,7 @@ public class UserController {
     @GetMapping
     @PreAuthorize(value = "sys:user:list", authenticated = true)
     public Result<List<UserVO>> getAllUsers() {
-        logger.info("获取所有用户列表");
+        logger.debug("获取所有用户列表");
         
         return userApplicationService.getAllUsers();
     }
@@ -48,18 +48,9 @@ public class UserController {
      * @return 用户信息
      */
     @GetMapping("/{id}")
-    @PreAuthorize(value = "sys:user:view", authenticated = true)
-    public Result<UserVO> getUserById(@PathVariable Integer id, HttpServletRequest request) {
-        logger.info("根据ID获取用户信息: {}", id);
-        
-        // 从请求属性中获取当前用户信息（由JWT拦截器设置）
-        String currentRole = (String) request.getAttribute("role");
-        Integer currentUserId = (Integer) request.getAttribute("userId");
-        
-        // 检查权限：只有管理员可以查看其他用户详情
-        if (!"ADMIN".equals(currentRole) && !currentUserId.equals(id)) {
-            return Result.error("权限不足，只有管理员可以查看其他用户信息");
-        }
+    @PreAuthorize(value = "all(sys:user:view, any(role(ADMIN), self(#id)))", authenticated = true)
+    public Result<UserVO> getUserById(@PathVariable Integer id) {
+        logger.debug("根据ID获取用户信息: {}", id);
         
         return userApplicationService.getUserById(id);
     }
@@ -79,7 +70,9 @@ public class UserController {
             @RequestParam(required = false) String email,
             @RequestParam(required = false) Integer status,
             @RequestParam(required = false) String role) {
-        logger.info("根据条件查询用户: username={}, email={}, status={}, role={}", username, email, status, role);
+        if (logger.isDebugEnabled()) {
+            logger.debug("根据条件查询用户: username={}, email={}, status={}, role={}", username, email, status, role);
+        }
         
         return userApplicationService.searchUsers(username, email, status, role);
     }
@@ -114,20 +107,14 @@ public class UserController {
      * @return 更新结果
      */
     @PutMapping("/{id}")
-    @PreAuthorize(value = "sys:user:edit", authenticated = true)
+    @PreAuthorize(value = "all(sys:user:edit, any(role(ADMIN), self(#id)))", authenticated = true)
     public Result<UserVO> updateUser(@PathVariable Integer id,
                                   @RequestBody UserUpdateRequest userUpdateRequest,
                                   HttpServletRequest request) {
         logger.info("更新用户信息: {}", id);
         
-        // 从请求属性中获取当前用户信息（由JWT拦截器设置）
+        // 从请求属性中获取当前用户信息（由JWT认证过滤器设置）
         String currentRole = (String) request.getAttribute("role");
-        Integer currentUserId = (Integer) request.getAttribute("userId");
-        
-        // 检查权限：只有管理员可以修改其他用户信息
-        if (!"ADMIN".equals(currentRole) && !currentUserId.equals(id)) {
-            return Result.error("权限不足，只有管理员可以修改其他用户信息");
-        }
         
         // 防止普通用户修改自己的角色
         if (!"ADMIN".equals(currentRole) && userUpdateRequest.getRole() != null &&
@@ -163,7 +150,7 @@ public class UserController {
     public Result<Void> deleteUser(@PathVariable Integer id, HttpServletRequest request) {
         logger.info("删除用户: {}", id);
         
-        // 从请求属性中获取当前用户信息（由JWT拦截器设置）
+        // 从请求属性中获取当前用户信息（由JWT认证过滤器设置）
         Integer currentUserId = (Integer) request.getAttribute("userId");
         
         // 防止用户删除自己
@@ -186,7 +173,7 @@ public class UserController {
     public Result<Void> batchDeleteUsers(@RequestBody List<Integer> userIds, HttpServletRequest request) {
         logger.info("批量删除用户: {}", userIds);
         
-        // 从请求属性中获取当前用户信息（由JWT拦截器设置）
+        // 从请求属性中获取当前用户信息（由JWT认证过滤器设置）
         Integer currentUserId = (Integer) request.getAttribute("userId");
         
         // 防止用户删除自己
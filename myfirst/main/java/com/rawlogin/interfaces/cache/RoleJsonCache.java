@@ -0,0 +1,237 @@
+package com.rawlogin.interfaces.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rawlogin.common.Result;
+import com.rawlogin.interfaces.vo.RoleVO;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 角色JSON序列化缓存
+ * 按角色ID和版本缓存RoleVO的UTF-8 JSON片段，
+ * 列表响应直接在Result外壳中拼接缓存片段，数据未变化时不再走Jackson反射序列化
+ */
+@Component
+public class RoleJsonCache {
+
+    private static final byte[] CODE_PREFIX = "{\"code\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MESSAGE_PREFIX = ",\"message\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DATA_PREFIX = ",\"data\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUCCESS_TRUE = ",\"success\":true}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUCCESS_FALSE = ",\"success\":false}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 角色ID -> 已序列化片段
+     */
+    private final ConcurrentHashMap<Integer, Fragment> fragments = new ConcurrentHashMap<>();
+
+    public RoleJsonCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 序列化角色列表结果
+     * @param result 角色列表结果
+     * @return UTF-8 JSON字节
+     * @throws JsonProcessingException 序列化异常
+     */
+    public byte[] writeList(Result<List<RoleVO>> result) throws JsonProcessingException {
+        List<RoleVO> roles = result.getData();
+        if (roles == null) {
+            return writeEnvelope(result, null, 0, false);
+        }
+
+        List<byte[]> parts = new ArrayList<>(roles.size());
+        int size = 2 + roles.size();
+        for (RoleVO role : roles) {
+            byte[] json = fragment(role);
+            parts.add(json);
+            size += json.length;
+        }
+        return writeEnvelope(result, parts, size, true);
+    }
+
+    /**
+     * 序列化单个角色结果
+     * @param result 角色结果
+     * @return UTF-8 JSON字节
+     * @throws JsonProcessingException 序列化异常
+     */
+    public byte[] writeOne(Result<RoleVO> result) throws JsonProcessingException {
+        if (result.getData() == null) {
+            return writeEnvelope(result, null, 0, false);
+        }
+        byte[] json = fragment(result.getData());
+        return writeEnvelope(result, Collections.singletonList(json), json.length, false);
+    }
+
+    /**
+     * 移除指定角色的缓存片段（角色修改或删除后调用）
+     * @param roleId 角色ID
+     */
+    public void evict(Integer roleId) {
+        if (roleId != null) {
+            fragments.remove(roleId);
+        }
+    }
+
+    /**
+     * 清空所有缓存片段
+     */
+    public void clear() {
+        fragments.clear();
+    }
+
+    /**
+     * 获取角色的JSON片段，版本未变化时直接复用缓存
+     * @param role 角色VO
+     * @return JSON片段
+     * @throws JsonProcessingException 序列化异常
+     */
+    private byte[] fragment(RoleVO role) throws JsonProcessingException {
+        if (role == null) {
+            return NULL;
+        }
+        if (role.getId() == null) {
+            return objectMapper.writeValueAsBytes(role);
+        }
+
+        Version version = new Version(role);
+        Fragment cached = fragments.get(role.getId());
+        if (cached != null && cached.version.equals(version)) {
+            return cached.json;
+        }
+
+        byte[] json = objectMapper.writeValueAsBytes(role);
+        fragments.put(role.getId(), new Fragment(version, json));
+        return json;
+    }
+
+    /**
+     * 拼接Result外壳
+     * @param result 结果对象
+     * @param parts 数据片段，null表示data为null
+     * @param dataSize 片段总长度（用于预分配缓冲区）
+     * @param array 是否以JSON数组输出片段
+     * @return UTF-8 JSON字节
+     * @throws JsonProcessingException 序列化异常
+     */
+    private byte[] writeEnvelope(Result<?> result, List<byte[]> parts, int dataSize, boolean array)
+            throws JsonProcessingException {
+        byte[] code = String.valueOf(result.getCode()).getBytes(StandardCharsets.UTF_8);
+        byte[] message = objectMapper.writeValueAsBytes(result.getMessage());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + message.length + dataSize);
+        out.write(CODE_PREFIX, 0, CODE_PREFIX.length);
+        out.write(code, 0, code.length);
+        out.write(MESSAGE_PREFIX, 0, MESSAGE_PREFIX.length);
+        out.write(message, 0, message.length);
+        out.write(DATA_PREFIX, 0, DATA_PREFIX.length);
+        if (parts == null) {
+            out.write(NULL, 0, NULL.length);
+        } else {
+            if (array) {
+                out.write('[');
+            }
+            for (int i = 0; i < parts.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                byte[] part = parts.get(i);
+                out.write(part, 0, part.length);
+            }
+            if (array) {
+                out.write(']');
+            }
+        }
+        byte[] success = result.isSuccess() ? SUCCESS_TRUE : SUCCESS_FALSE;
+        out.write(success, 0, success.length);
+        return out.toByteArray();
+    }
+
+    /**
+     * 已序列化的角色片段
+     */
+    private static final class Fragment {
+        private final Version version;
+        private final byte[] json;
+
+        private Fragment(Version version, byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+    }
+
+    /**
+     * 角色版本
+     * 权限变更不会刷新roles.update_time，因此版本由更新时间和所有会影响输出的原始字段共同构成
+     */
+    private static final class Version {
+        private final String updateTime;
+        private final String createTime;
+        private final String name;
+        private final String code;
+        private final String description;
+        private final Integer status;
+        private final Integer userCount;
+        private final Boolean builtIn;
+        private final Boolean canEdit;
+        private final Boolean canDelete;
+        private final List<RoleVO.PermissionVO> permissions;
+        private final int hash;
+
+        private Version(RoleVO role) {
+            this.updateTime = role.getUpdateTime();
+            this.createTime = role.getCreateTime();
+            this.name = role.getName();
+            this.code = role.getCode();
+            this.description = role.getDescription();
+            this.status = role.getStatus();
+            this.userCount = role.getUserCount();
+            this.builtIn = role.getBuiltIn();
+            this.canEdit = role.getCanEdit();
+            this.canDelete = role.getCanDelete();
+            this.permissions = role.getPermissions();
+            this.hash = Objects.hash(updateTime, name, code, status);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Version)) {
+                return false;
+            }
+            Version other = (Version) o;
+            return hash == other.hash
+                    && Objects.equals(updateTime, other.updateTime)
+                    && Objects.equals(createTime, other.createTime)
+                    && Objects.equals(name, other.name)
+                    && Objects.equals(code, other.code)
+                    && Objects.equals(description, other.description)
+                    && Objects.equals(status, other.status)
+                    && Objects.equals(userCount, other.userCount)
+                    && Objects.equals(builtIn, other.builtIn)
+                    && Objects.equals(canEdit, other.canEdit)
+                    && Objects.equals(canDelete, other.canDelete)
+                    && Objects.equals(permissions, other.permissions);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
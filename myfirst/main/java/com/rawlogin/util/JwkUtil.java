@@ -0,0 +1,186 @@
+package com.rawlogin.util;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JWK工具类
+ * EC(P-256)密钥的加载与校验、JWK表示（RFC 7517/7518）和JWK指纹（RFC 7638）
+ */
+public class JwkUtil {
+
+    /**
+     * P-256坐标长度（字节）
+     */
+    private static final int P256_COORDINATE_LENGTH = 32;
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * P-256（secp256r1）曲线参数
+     */
+    private static final ECParameterSpec P256 = p256();
+
+    private JwkUtil() {
+    }
+
+    /**
+     * 解析EC私钥
+     * @param pemOrBase64 PKCS#8格式，PEM或Base64编码的DER
+     * @return 私钥
+     * @throws IllegalStateException 格式错误或不是P-256密钥
+     */
+    public static PrivateKey parseEcPrivateKey(String pemOrBase64) {
+        PrivateKey key;
+        try {
+            key = KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(decodePem(pemOrBase64)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("无法解析EC私钥（需要PKCS#8格式）", e);
+        }
+        requireP256((ECKey) key);
+        return key;
+    }
+
+    /**
+     * 解析EC公钥
+     * @param pemOrBase64 X.509(SubjectPublicKeyInfo)格式，PEM或Base64编码的DER
+     * @return 公钥
+     * @throws IllegalStateException 格式错误或不是P-256密钥
+     */
+    public static ECPublicKey parseEcPublicKey(String pemOrBase64) {
+        PublicKey key;
+        try {
+            key = KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(decodePem(pemOrBase64)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("无法解析EC公钥（需要X.509格式）", e);
+        }
+        requireP256((ECKey) key);
+        return (ECPublicKey) key;
+    }
+
+    /**
+     * 校验密钥对：两者都在P-256上，且私钥签名能被公钥验证通过
+     * @param privateKey 私钥
+     * @param publicKey 公钥
+     * @throws IllegalStateException 曲线不是P-256或私钥与公钥不匹配
+     */
+    public static void verifyKeyPair(PrivateKey privateKey, ECPublicKey publicKey) {
+        if (!(privateKey instanceof ECKey)) {
+            throw new IllegalStateException("ES256私钥不是EC密钥");
+        }
+        requireP256((ECKey) privateKey);
+        requireP256(publicKey);
+        byte[] challenge = new byte[32];
+        new SecureRandom().nextBytes(challenge);
+        boolean verified;
+        try {
+            Signature signer = Signature.getInstance("SHA256withECDSA");
+            signer.initSign(privateKey);
+            signer.update(challenge);
+            byte[] signature = signer.sign();
+            Signature verifier = Signature.getInstance("SHA256withECDSA");
+            verifier.initVerify(publicKey);
+            verifier.update(challenge);
+            verified = verifier.verify(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("ES256密钥对校验失败", e);
+        }
+        if (!verified) {
+            throw new IllegalStateException("ES256私钥与公钥不匹配");
+        }
+    }
+
+    /**
+     * EC公钥的JWK表示
+     * @param publicKey P-256公钥
+     * @param keyId 密钥ID
+     * @return JWK
+     */
+    public static Map<String, Object> toJwk(ECPublicKey publicKey, String keyId) {
+        requireP256(publicKey);
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+        jwk.put("kid", keyId);
+        jwk.put("use", "sig");
+        jwk.put("alg", "ES256");
+        return jwk;
+    }
+
+    /**
+     * JWK指纹（RFC 7638，SHA-256），用作默认密钥ID
+     * @param publicKey P-256公钥
+     * @return Base64URL编码的指纹
+     */
+    public static String thumbprint(ECPublicKey publicKey) {
+        requireP256(publicKey);
+        // 必需成员按字典序排列，无空白
+        String canonical = "{\"crv\":\"P-256\",\"kty\":\"EC\",\"x\":\"" + coordinate(publicKey.getW().getAffineX())
+                + "\",\"y\":\"" + coordinate(publicKey.getW().getAffineY()) + "\"}";
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return BASE64_URL.encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+
+    /**
+     * 坐标按定长大端无符号编码（调用方保证为P-256公钥）
+     */
+    private static String coordinate(BigInteger value) {
+        if (value.signum() < 0 || value.bitLength() > P256_COORDINATE_LENGTH * 8) {
+            throw new IllegalStateException("EC公钥坐标超出P-256范围");
+        }
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[P256_COORDINATE_LENGTH];
+        int copy = Math.min(bytes.length, P256_COORDINATE_LENGTH);
+        System.arraycopy(bytes, bytes.length - copy, fixed, P256_COORDINATE_LENGTH - copy, copy);
+        return BASE64_URL.encodeToString(fixed);
+    }
+
+    private static void requireP256(ECKey key) {
+        ECParameterSpec params = key.getParams();
+        if (params == null
+                || !P256.getCurve().equals(params.getCurve())
+                || !P256.getGenerator().equals(params.getGenerator())
+                || !P256.getOrder().equals(params.getOrder())
+                || P256.getCofactor() != params.getCofactor()) {
+            throw new IllegalStateException("ES256需要P-256(secp256r1)曲线的EC密钥");
+        }
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("当前JDK不支持P-256曲线", e);
+        }
+    }
+
+    private static byte[] decodePem(String pemOrBase64) {
+        String base64 = pemOrBase64.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
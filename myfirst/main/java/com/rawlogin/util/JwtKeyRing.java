@@ -0,0 +1,267 @@
+package com.rawlogin.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolver;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JWT签名密钥环
+ * 按生效时间排序的密钥：最近已生效且持有签名材料的密钥用于签发新令牌；
+ * 被后继密钥取代的密钥保留到其签发的令牌全部过期（再加时钟偏差余量）后移出。
+ * 校验时按令牌头的kid从预先构建的映射中O(1)取出密钥；无kid的令牌（轮换前签发）使用默认密钥。
+ * 环的状态是不可变快照，只在下一个生效/移出时间点到达时重建，签发和校验路径只有一次volatile读
+ */
+final class JwtKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    /**
+     * 原有单密钥（jwt.secret）的kid，也用于没有kid的令牌
+     */
+    static final String DEFAULT_KID = "default";
+
+    /**
+     * 实例间的时钟偏差余量
+     */
+    private static final long CLOCK_SKEW_MILLIS = 60_000;
+
+    private final List<RingKey> keys;
+
+    private final long expirationMillis;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param keys 密钥（kid不可重复，至少一个持有签名材料）
+     * @param expirationMillis 令牌有效期
+     * @param now 当前时间（毫秒）
+     */
+    JwtKeyRing(List<RingKey> keys, long expirationMillis, long now) {
+        Map<String, RingKey> unique = new HashMap<>();
+        for (RingKey key : keys) {
+            if (unique.put(key.kid, key) != null) {
+                throw new IllegalStateException("JWT密钥ID重复: " + key.kid);
+            }
+        }
+        List<RingKey> sorted = new ArrayList<>(keys);
+        sorted.sort(Comparator.comparingLong(key -> key.activateAt));
+        if (sorted.stream().noneMatch(RingKey::canSign)) {
+            throw new IllegalStateException("JWT密钥环中没有可用于签名的密钥");
+        }
+        this.keys = sorted;
+        this.expirationMillis = expirationMillis;
+        this.snapshot = build(now);
+    }
+
+    /**
+     * 当前用于签名的密钥
+     * @param now 当前时间（毫秒）
+     * @return 签名密钥
+     */
+    RingKey activeKey(long now) {
+        return current(now).active;
+    }
+
+    /**
+     * 对外发布的ES256公钥（含已配置但尚未生效的密钥，供下游提前缓存）
+     * @param now 当前时间（毫秒）
+     * @return JWK列表
+     */
+    List<Map<String, Object>> publicJwks(long now) {
+        return current(now).jwks;
+    }
+
+    /**
+     * 校验密钥解析器：按kid取密钥，并要求令牌算法与密钥算法一致
+     * @return 解析器
+     */
+    SigningKeyResolver resolver() {
+        return new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                String kid = header.getKeyId();
+                RingKey key = current(System.currentTimeMillis()).byKid.get(kid != null ? kid : DEFAULT_KID);
+                if (key == null) {
+                    throw new UnsupportedJwtException("未知或已移出的密钥: " + kid);
+                }
+                if (!key.algorithm.getValue().equals(header.getAlgorithm())) {
+                    throw new UnsupportedJwtException("令牌算法与密钥不匹配: " + header.getAlgorithm());
+                }
+                return key.verifyKey;
+            }
+        };
+    }
+
+    private Snapshot current(long now) {
+        Snapshot current = snapshot;
+        if (now >= current.rebuildAt) {
+            current = build(now);
+            if (current.active != snapshot.active) {
+                logger.info("JWT签名密钥已切换: kid={}", current.active.kid);
+            }
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private Snapshot build(long now) {
+        RingKey active = null;
+        for (RingKey key : keys) {
+            if (key.canSign() && key.activateAt <= now) {
+                active = key;
+            }
+        }
+        if (active == null) {
+            // 所有签名密钥都未到生效时间，使用最早生效的
+            active = keys.stream().filter(RingKey::canSign).findFirst().orElseThrow(IllegalStateException::new);
+        }
+
+        long rebuildAt = Long.MAX_VALUE;
+        Map<String, RingKey> byKid = new HashMap<>();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            RingKey key = keys.get(i);
+            if (key.activateAt > now) {
+                rebuildAt = Math.min(rebuildAt, key.activateAt);
+            }
+            long retireAt = retireAt(i);
+            if (key != active && retireAt <= now) {
+                continue;
+            }
+            if (retireAt != Long.MAX_VALUE) {
+                rebuildAt = Math.min(rebuildAt, retireAt);
+            }
+            byKid.put(key.kid, key);
+            if (key.jwk != null) {
+                jwks.add(key.jwk);
+            }
+        }
+        return new Snapshot(active, byKid, Collections.unmodifiableList(jwks), rebuildAt);
+    }
+
+    /**
+     * 密钥的移出时间：后继签名密钥生效后，再经过一个令牌有效期和时钟偏差余量
+     */
+    private long retireAt(int index) {
+        RingKey key = keys.get(index);
+        if (!key.canSign()) {
+            return Long.MAX_VALUE;
+        }
+        for (int i = index + 1; i < keys.size(); i++) {
+            RingKey successor = keys.get(i);
+            if (successor.canSign() && successor.activateAt > key.activateAt) {
+                return successor.activateAt + expirationMillis + CLOCK_SKEW_MILLIS;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * HS256密钥
+     * @param kid 密钥ID
+     * @param key HMAC密钥
+     * @param activateAt 生效时间（毫秒）
+     * @return 环中的密钥
+     */
+    static RingKey hmac(String kid, Key key, long activateAt) {
+        return new RingKey(kid, SignatureAlgorithm.HS256, key, key, activateAt, null);
+    }
+
+    /**
+     * ES256密钥，持有私钥时先以签名再验证确认私钥与公钥匹配
+     * @param kid 密钥ID
+     * @param privateKey 私钥，为null时仅用于校验
+     * @param publicKey 公钥
+     * @param activateAt 生效时间（毫秒）
+     * @return 环中的密钥
+     * @throws IllegalStateException 不是P-256密钥或私钥与公钥不匹配
+     */
+    static RingKey ec(String kid, PrivateKey privateKey, ECPublicKey publicKey, long activateAt) {
+        if (privateKey != null) {
+            try {
+                JwkUtil.verifyKeyPair(privateKey, publicKey);
+            } catch (IllegalStateException e) {
+                throw new IllegalStateException(e.getMessage() + ": " + kid, e);
+            }
+        }
+        return new RingKey(kid, SignatureAlgorithm.ES256, privateKey, publicKey, activateAt,
+                JwkUtil.toJwk(publicKey, kid));
+    }
+
+    /**
+     * 环中的密钥
+     */
+    static final class RingKey {
+
+        final String kid;
+
+        final SignatureAlgorithm algorithm;
+
+        /**
+         * 签名密钥，仅用于校验的密钥为null
+         */
+        final Key signingKey;
+
+        final Key verifyKey;
+
+        final long activateAt;
+
+        /**
+         * 公钥的JWK表示，HS256为null
+         */
+        final Map<String, Object> jwk;
+
+        private RingKey(String kid, SignatureAlgorithm algorithm, Key signingKey, Key verifyKey, long activateAt,
+                        Map<String, Object> jwk) {
+            this.kid = kid;
+            this.algorithm = algorithm;
+            this.signingKey = signingKey;
+            this.verifyKey = verifyKey;
+            this.activateAt = activateAt;
+            this.jwk = jwk;
+        }
+
+        boolean canSign() {
+            return signingKey != null;
+        }
+    }
+
+    /**
+     * 环在某一时间段内的不可变状态
+     */
+    private static final class Snapshot {
+
+        final RingKey active;
+
+        final Map<String, RingKey> byKid;
+
+        final List<Map<String, Object>> jwks;
+
+        /**
+         * 下一次需要重建的时间（有密钥生效或移出）
+         */
+        final long rebuildAt;
+
+        Snapshot(RingKey active, Map<String, RingKey> byKid, List<Map<String, Object>> jwks, long rebuildAt) {
+            this.active = active;
+            this.byKid = byKid;
+            this.jwks = jwks;
+            this.rebuildAt = rebuildAt;
+        }
+    }
+}
@@ -1,31 +1,195 @@
 package com.rawlogin.util;
 
+import com.rawlogin.config.auth.JwtKeyProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import javax.annotation.PostConstruct;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
  * JWT工具类
- * 负责JWT令牌的生成、验证和解析
+ * 负责JWT令牌的生成、验证和解析。
+ * 默认使用共享密钥HS256签名；jwt.algorithm=ES256时使用EC私钥签名，公钥通过JWKS接口发布，其他服务可离线校验令牌。
+ * 签名密钥来自密钥环（见JwtKeyProperties），令牌头的kid标识签名密钥，轮换时已签发的令牌在过期前仍然有效
  */
 @Component
 public class JwtUtil {
     
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
+    
+    private static final Timer signTimer = Timer.builder("rawlogin.jwt.sign")
+            .register(Metrics.globalRegistry);
+    
+    private static final Timer verifyValidTimer = Timer.builder("rawlogin.jwt.verify")
+            .tag("outcome", "valid")
+            .register(Metrics.globalRegistry);
+    
+    private static final Timer verifyInvalidTimer = Timer.builder("rawlogin.jwt.verify")
+            .tag("outcome", "invalid")
+            .register(Metrics.globalRegistry);
+    
     @Value("${jwt.secret}")
     private String secret;
     
     @Value("${jwt.expiration}")
     private Long expiration;
     
+    /**
+     * 签名算法：HS256（默认）或ES256
+     */
+    @Value("${jwt.algorithm:HS256}")
+    private String algorithm;
+    
+    /**
+     * ES256私钥（PKCS#8，PEM或Base64），未配置时启动时生成临时密钥
+     */
+    @Value("${jwt.ec.private-key:}")
+    private String ecPrivateKey;
+    
+    /**
+     * ES256公钥（X.509，PEM或Base64）
+     */
+    @Value("${jwt.ec.public-key:}")
+    private String ecPublicKey;
+    
+    /**
+     * ES256密钥ID，未配置时使用公钥的JWK指纹
+     */
+    @Value("${jwt.key-id:}")
+    private String keyId;
+    
+    /**
+     * 轮换密钥配置（jwt.keys[*]）
+     */
+    @Autowired(required = false)
+    private JwtKeyProperties keyProperties;
+    
+    /**
+     * 签名密钥环（启动时构建一次）
+     */
+    private JwtKeyRing keyRing;
+    
+    /**
+     * 令牌解析器（线程安全，可复用）
+     */
+    private JwtParser jwtParser;
+    
+    /**
+     * 初始化签名密钥环和解析器
+     */
+    @PostConstruct
+    public void init() {
+        List<JwtKeyRing.RingKey> keys = new ArrayList<>();
+        keys.add(defaultKey());
+        if (keyProperties != null) {
+            for (JwtKeyProperties.Key key : keyProperties.getKeys()) {
+                keys.add(toRingKey(key));
+            }
+        }
+        long now = System.currentTimeMillis();
+        this.keyRing = new JwtKeyRing(keys, expiration, now);
+        // 按kid选择校验密钥，并要求令牌算法与密钥一致（ES256密钥不接受HS256令牌）
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyRing.resolver())
+                .build();
+        JwtKeyRing.RingKey active = keyRing.activeKey(now);
+        logger.info("JWT密钥环 {} 个密钥，当前签名密钥: {} kid={}", keys.size(), active.algorithm, active.kid);
+    }
+    
+    /**
+     * 原有单密钥（jwt.secret或jwt.ec.*），生效时间最早
+     */
+    private JwtKeyRing.RingKey defaultKey() {
+        String name = algorithm == null ? "HS256" : algorithm.trim().toUpperCase(Locale.ROOT);
+        if ("ES256".equals(name)) {
+            KeyPair keyPair = loadEcKeyPair();
+            ECPublicKey publicKey = (ECPublicKey) keyPair.getPublic();
+            String kid = keyId != null && !keyId.trim().isEmpty() ? keyId.trim() : JwkUtil.thumbprint(publicKey);
+            return JwtKeyRing.ec(kid, keyPair.getPrivate(), publicKey, Long.MIN_VALUE);
+        }
+        if ("HS256".equals(name)) {
+            return JwtKeyRing.hmac(JwtKeyRing.DEFAULT_KID, Keys.hmacShaKeyFor(secret.getBytes()), Long.MIN_VALUE);
+        }
+        throw new IllegalStateException("不支持的JWT签名算法: " + algorithm + "（支持HS256、ES256）");
+    }
+    
+    /**
+     * 轮换密钥配置转换为环中的密钥
+     */
+    private JwtKeyRing.RingKey toRingKey(JwtKeyProperties.Key key) {
+        if (key.getKid() == null || key.getKid().trim().isEmpty() || key.getActivateAt() == null) {
+            throw new IllegalStateException("jwt.keys需要配置kid和activate-at: " + key.getKid());
+        }
+        String kid = key.getKid().trim();
+        long activateAt;
+        try {
+            activateAt = Instant.parse(key.getActivateAt().trim()).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalStateException("jwt.keys生效时间格式错误（需要ISO-8601，如2026-11-01T00:00:00Z）: " + kid, e);
+        }
+        String name = key.getAlgorithm() == null ? "HS256" : key.getAlgorithm().trim().toUpperCase(Locale.ROOT);
+        if ("HS256".equals(name)) {
+            if (key.getSecret() == null) {
+                throw new IllegalStateException("HS256密钥需要配置secret: " + kid);
+            }
+            return JwtKeyRing.hmac(kid, Keys.hmacShaKeyFor(key.getSecret().getBytes()), activateAt);
+        }
+        if ("ES256".equals(name)) {
+            if (key.getPublicKey() == null) {
+                throw new IllegalStateException("ES256密钥需要配置public-key: " + kid);
+            }
+            return JwtKeyRing.ec(kid, key.getPrivateKey() != null ? JwkUtil.parseEcPrivateKey(key.getPrivateKey()) : null,
+                    JwkUtil.parseEcPublicKey(key.getPublicKey()), activateAt);
+        }
+        throw new IllegalStateException("不支持的JWT签名算法: " + key.getAlgorithm() + "（支持HS256、ES256）: " + kid);
+    }
+    
+    /**
+     * 加载ES256密钥对，未配置时生成临时密钥（仅适合单实例开发环境，重启后已签发的令牌失效）
+     */
+    private KeyPair loadEcKeyPair() {
+        boolean hasPrivate = ecPrivateKey != null && !ecPrivateKey.trim().isEmpty();
+        boolean hasPublic = ecPublicKey != null && !ecPublicKey.trim().isEmpty();
+        if (hasPrivate != hasPublic) {
+            throw new IllegalStateException("jwt.ec.private-key和jwt.ec.public-key需要同时配置");
+        }
+        if (!hasPrivate) {
+            logger.warn("未配置jwt.ec.private-key，使用临时生成的ES256密钥");
+            return Keys.keyPairFor(SignatureAlgorithm.ES256);
+        }
+        return new KeyPair(JwkUtil.parseEcPublicKey(ecPublicKey), JwkUtil.parseEcPrivateKey(ecPrivateKey));
+    }
+    
+    /**
+     * 对外发布的公钥集合（JWKS的keys），只包含环中的ES256密钥
+     * @return JWK列表
+     */
+    public List<Map<String, Object>> getPublicJwks() {
+        return keyRing.publicJwks(System.currentTimeMillis());
+    }
+    
     /**
      * 生成JWT令牌
      * @param username 用户名
@@ -38,13 +202,18 @@ public class JwtUtil {
         claims.put("userId", userId);
         claims.put("role", role);
         
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(username)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+        return signTimer.record(() -> {
+            long now = System.currentTimeMillis();
+            JwtKeyRing.RingKey key = keyRing.activeKey(now);
+            return Jwts.builder()
+                    .setHeaderParam("kid", key.kid)
+                    .setClaims(claims)
+                    .setSubject(username)
+                    .setIssuedAt(new Date(now))
+                    .setExpiration(new Date(now + expiration))
+                    .signWith(key.signingKey, key.algorithm)
+                    .compact();
+        });
     }
     
     /**
@@ -89,19 +258,34 @@ public class JwtUtil {
      * @return 是否有效
      */
     public Boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+    
+    /**
+     * 验证并解析JWT令牌（只解析一次）
+     * @param token JWT令牌
+     * @return 令牌声明；令牌无效或已过期时返回null
+     */
+    public Claims parseClaims(String token) {
+        long start = System.nanoTime();
+        Claims claims = doParseClaims(token);
+        Timer timer = claims != null ? verifyValidTimer : verifyInvalidTimer;
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
+    }
+    
+    private Claims doParseClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
             
             // 检查令牌是否过期
-            Date expiration = getExpirationDateFromToken(token);
-            return !expiration.before(new Date());
-            
+            Date expiration = claims.getExpiration();
+            if (expiration == null || expiration.before(new Date())) {
+                return null;
+            }
+            return claims;
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
     
@@ -123,25 +307,12 @@ public class JwtUtil {
      */
     private Claims getAllClaimsFromToken(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (Exception e) {
             return null;
         }
     }
     
-    /**
-     * 获取签名密钥
-     * @return 签名密钥
-     */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-    
     /**
      * 使令牌失效（登出时使用）
      * @param token JWT令牌
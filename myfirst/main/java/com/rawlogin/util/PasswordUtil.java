@@ -1,23 +1,35 @@
 package com.rawlogin.util;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * 密码工具类
- * 提供密码加密和验证功能
+ * 提供密码加密和验证功能，BCrypt耗时记录在全局指标注册表的rawlogin.password.bcrypt中
  */
 public class PasswordUtil {
     
     private static final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
     
+    private static final Timer encodeTimer = Timer.builder("rawlogin.password.bcrypt")
+            .tag("operation", "encode")
+            .register(Metrics.globalRegistry);
+    
+    private static final Timer matchesTimer = Timer.builder("rawlogin.password.bcrypt")
+            .tag("operation", "matches")
+            .register(Metrics.globalRegistry);
+    
     /**
      * 加密密码
      * @param password 原始密码
      * @return 加密后的密码
      */
     public static String encode(String password) {
-        return passwordEncoder.encode(password);
+        return encodeTimer.record(() -> passwordEncoder.encode(password));
     }
     
     /**
@@ -27,7 +39,12 @@ public class PasswordUtil {
      * @return 是否匹配
      */
     public static boolean matches(String password, String encodedPassword) {
-        return passwordEncoder.matches(password, encodedPassword);
+        long start = System.nanoTime();
+        try {
+            return passwordEncoder.matches(password, encodedPassword);
+        } finally {
+            matchesTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
     
     /**
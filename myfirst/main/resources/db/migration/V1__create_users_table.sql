@@ -0,0 +1,13 @@
+-- 创建用户表（原由JPA ddl-auto维护）
+
+CREATE TABLE IF NOT EXISTS users (
+    id INT AUTO_INCREMENT PRIMARY KEY COMMENT '用户ID',
+    username VARCHAR(50) NOT NULL UNIQUE COMMENT '用户名',
+    password VARCHAR(255) NOT NULL COMMENT '密码',
+    email VARCHAR(100) COMMENT '邮箱',
+    role VARCHAR(50) DEFAULT 'USER' COMMENT '角色',
+    status INT DEFAULT 1 COMMENT '状态：1-启用，0-禁用',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    last_login_time DATETIME COMMENT '最后登录时间'
+) COMMENT '用户表';
@@ -83,4 +83,4 @@ WHERE r.code = 'USER' AND p.code IN ('sys:user:list', 'sys:user:view');
 INSERT IGNORE INTO user_roles (user_id, role_id)
 SELECT u.id as user_id, r.id as role_id
 FROM users u, roles r
-WHERE u.role = r.code;
\ No newline at end of file
+WHERE u.role = r.code;
@@ -2,4 +2,10 @@
 -- 密码 123456 使用BCrypt加密后的值
 INSERT INTO users (username, password, email, role, create_time, update_time, status)
 VALUES ('admin', '$2a$10$QnR.DWs7qAR1c.Voe3DmDegBkeBOv3pVRb4eIlAnElERP/NHT6I8O', 'admin@example.com', 'ADMIN', '2026-01-20 10:42:00', '2026-01-20 10:42:00', 1)
-ON DUPLICATE KEY UPDATE username=username;
\ No newline at end of file
+ON DUPLICATE KEY UPDATE username=username;
+
+-- 为管理员分配角色（V2中的分配在本脚本插入用户之前执行）
+INSERT IGNORE INTO user_roles (user_id, role_id)
+SELECT u.id as user_id, r.id as role_id
+FROM users u, roles r
+WHERE u.role = r.code;
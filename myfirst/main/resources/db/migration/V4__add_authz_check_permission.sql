@@ -0,0 +1,9 @@
+-- 批量授权判定接口权限（供其他服务以服务账号调用）
+INSERT IGNORE INTO permissions (name, code, description, module) VALUES
+('批量授权判定', 'sys:authz:check', '查询任意用户是否拥有指定权限', 'system');
+
+-- 管理员角色拥有所有权限
+INSERT IGNORE INTO role_permissions (role_id, permission_id)
+SELECT r.id as role_id, p.id as permission_id
+FROM roles r, permissions p
+WHERE r.code = 'ADMIN' AND p.code = 'sys:authz:check';
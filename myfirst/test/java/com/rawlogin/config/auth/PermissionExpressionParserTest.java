@@ -0,0 +1,221 @@
+package com.rawlogin.config.auth;
+
+import com.rawlogin.config.annotation.PreAuthorize;
+import com.rawlogin.interfaces.UserController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 权限表达式解析与求值测试
+ * 权限目录固定为 sys:user:view / sys:user:edit / sys:role:edit 三个代码，
+ * 用户权限由测试直接给出，并统计权限加载次数以验证只依赖令牌信息的子表达式先求值
+ */
+class PermissionExpressionParserTest {
+
+    private static final String VIEW = "sys:user:view";
+
+    private static final String EDIT = "sys:user:edit";
+
+    private static final String ROLE_EDIT = "sys:role:edit";
+
+    private static final Set<String> ID = Collections.singleton("id");
+
+    private PermissionExpressionParser parser;
+
+    private StubPermissionEvaluator permissionEvaluator;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (String code : Arrays.asList(VIEW, EDIT, ROLE_EDIT)) {
+            ordinals.put(code, ordinals.size());
+        }
+        PermissionCatalog permissionCatalog = new PermissionCatalog();
+        ReflectionTestUtils.setField(permissionCatalog, "ordinals", ordinals);
+        parser = new PermissionExpressionParser(permissionCatalog);
+        permissionEvaluator = new StubPermissionEvaluator(permissionCatalog);
+    }
+
+    @Test
+    void permissionCode() {
+        PermissionExpression expression = parser.parse(EDIT, ID);
+        assertTrue(expression.requiresPermissions());
+        assertTrue(expression.evaluate(context(1, "USER", "1", EDIT)));
+        assertFalse(expression.evaluate(context(1, "USER", "1", VIEW)));
+    }
+
+    @Test
+    void anyPassesWhenOneOperandPasses() {
+        PermissionExpression expression = parser.parse("any(sys:user:view, sys:user:edit)", ID);
+        assertTrue(expression.evaluate(context(1, "USER", "1", EDIT)));
+        assertTrue(expression.evaluate(context(1, "USER", "1", VIEW)));
+        assertFalse(expression.evaluate(context(1, "USER", "1", ROLE_EDIT)));
+    }
+
+    @Test
+    void allRequiresEveryOperand() {
+        PermissionExpression expression = parser.parse("all(sys:user:view, sys:user:edit)", ID);
+        assertTrue(expression.evaluate(context(1, "USER", "1", VIEW, EDIT)));
+        assertFalse(expression.evaluate(context(1, "USER", "1", VIEW)));
+        assertFalse(expression.evaluate(context(1, "USER", "1")));
+    }
+
+    @Test
+    void role() {
+        PermissionExpression expression = parser.parse("role(ADMIN)", ID);
+        assertFalse(expression.requiresPermissions());
+        assertTrue(expression.evaluate(context(1, "ADMIN", "2")));
+        assertFalse(expression.evaluate(context(1, "USER", "2")));
+        assertFalse(expression.evaluate(context(1, null, "2")));
+        assertEquals(0, permissionEvaluator.loads);
+    }
+
+    @Test
+    void self() {
+        PermissionExpression expression = parser.parse("self(#id)", ID);
+        assertFalse(expression.requiresPermissions());
+        assertTrue(expression.evaluate(context(7, "USER", "7")));
+        assertFalse(expression.evaluate(context(7, "USER", "8")));
+        assertFalse(expression.evaluate(context(7, "USER", null)));
+        assertEquals(0, permissionEvaluator.loads);
+    }
+
+    @Test
+    void selfWithNullUserIdIsDenied() {
+        PermissionExpression expression = parser.parse("any(self(#id), sys:user:edit)", ID);
+        assertFalse(expression.evaluate(context(null, null, "null", EDIT)));
+        assertEquals(0, permissionEvaluator.loads);
+    }
+
+    @Test
+    void nesting() {
+        PermissionExpression expression = parser.parse(
+                " all( sys:user:view , any( role(ADMIN), all(self(#id), sys:role:edit) ) ) ", ID);
+        assertTrue(expression.evaluate(context(1, "ADMIN", "2", VIEW)));
+        assertTrue(expression.evaluate(context(1, "USER", "1", VIEW, ROLE_EDIT)));
+        assertFalse(expression.evaluate(context(1, "USER", "1", VIEW)));
+        assertFalse(expression.evaluate(context(1, "USER", "2", VIEW, ROLE_EDIT)));
+        assertFalse(expression.evaluate(context(1, "ADMIN", "2", ROLE_EDIT)));
+    }
+
+    @Test
+    void tokenOnlyOperandsAreEvaluatedFirst() {
+        // 权限代码写在前面，但role(ADMIN)不通过时不应加载权限
+        PermissionExpression expression = parser.parse("all(sys:user:edit, role(ADMIN))", ID);
+        assertFalse(expression.evaluate(context(1, "USER", "1", EDIT)));
+        assertEquals(0, permissionEvaluator.loads);
+
+        PermissionExpression any = parser.parse("any(sys:user:edit, self(#id))", ID);
+        assertTrue(any.evaluate(context(1, "USER", "1")));
+        assertEquals(0, permissionEvaluator.loads);
+    }
+
+    @Test
+    void permissionsAreLoadedOncePerContext() {
+        PermissionExpression expression = parser.parse("all(sys:user:view, sys:user:edit)", ID);
+        assertTrue(expression.evaluate(context(1, "USER", "1", VIEW, EDIT)));
+        assertEquals(1, permissionEvaluator.loads);
+    }
+
+    @Test
+    void unknownCodesAreAllReported() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> parser.parse("any(sys:user:fly, all(sys:user:view, sys:user:swim))", ID));
+        assertTrue(e.getMessage().contains("sys:user:fly"), e.getMessage());
+        assertTrue(e.getMessage().contains("sys:user:swim"), e.getMessage());
+        assertFalse(e.getMessage().contains(VIEW), e.getMessage());
+    }
+
+    @Test
+    void undeclaredPathVariableIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> parser.parse("self(#userId)", ID));
+        assertTrue(e.getMessage().contains("#userId"), e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("self(#id)", null));
+    }
+
+    @Test
+    void syntaxErrors() {
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("", ID));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("any(", ID));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("any(sys:user:view", ID));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("any(sys:user:view,)", ID));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("none(sys:user:view)", ID));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("self(id)", ID));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("role()", ID));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("sys:user:view sys:user:edit", ID));
+    }
+
+    /**
+     * 回归：更新用户要求编辑权限，且为管理员或本人（不能只凭本人身份修改资料）
+     */
+    @Test
+    void updateUserRule() throws Exception {
+        String rule = UserController.class.getMethod("updateUser", Integer.class,
+                        UserController.UserUpdateRequest.class, HttpServletRequest.class)
+                .getAnnotation(PreAuthorize.class).value();
+        assertEquals("all(sys:user:edit, any(role(ADMIN), self(#id)))", rule);
+        PermissionExpression expression = parser.parse(rule, ID);
+
+        assertTrue(expression.evaluate(context(1, "USER", "1", EDIT)));
+        assertTrue(expression.evaluate(context(1, "ADMIN", "2", EDIT)));
+        assertFalse(expression.evaluate(context(1, "USER", "2", EDIT)));
+        assertFalse(expression.evaluate(context(1, "USER", "1")));
+        assertFalse(expression.evaluate(context(1, "USER", "1", VIEW)));
+        assertFalse(expression.evaluate(context(1, "ADMIN", "2")));
+        assertFalse(expression.evaluate(context(null, null, "1", EDIT)));
+    }
+
+    private AuthContext context(Integer userId, String role, String pathId, String... codes) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (pathId != null) {
+            request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+                    Collections.singletonMap("id", pathId));
+        }
+        permissionEvaluator.codes = new HashSet<>(Arrays.asList(codes));
+        return new AuthContext(userId, role, request, permissionEvaluator);
+    }
+
+    /**
+     * 直接返回给定权限代码的位图，不访问权限存储
+     */
+    private static class StubPermissionEvaluator extends PermissionEvaluator {
+
+        private final PermissionCatalog permissionCatalog;
+
+        private Set<String> codes = Collections.emptySet();
+
+        private int loads;
+
+        StubPermissionEvaluator(PermissionCatalog permissionCatalog) {
+            this.permissionCatalog = permissionCatalog;
+        }
+
+        @Override
+        public BitSet loadPermissions(Integer userId) {
+            loads++;
+            BitSet permissions = new BitSet();
+            for (String code : codes) {
+                permissions.set(permissionCatalog.ordinalOf(code));
+            }
+            return permissions;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.rawlogin.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 读写分离路由测试
+ * 主库和从库是两个独立的H2内存库，各自的instance表记录实例名，按查询结果判断语句实际路由到哪个实例
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String REPLICA = "replica";
+
+    private HikariDataSource primary;
+
+    private HikariDataSource replica;
+
+    private ReadWriteRoutingContext routingContext;
+
+    private ReadWriteRoutingDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        primary = instance(PRIMARY);
+        replica = instance(REPLICA);
+        routingContext = new ReadWriteRoutingContext();
+        ReflectionTestUtils.setField(routingContext, "stickyWindow", Duration.ofSeconds(5));
+        dataSource = new ReadWriteRoutingDataSource(primary, Collections.singletonList(replica), routingContext);
+        dataSource.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routingContext.endRequest();
+        dataSource.close();
+        primary.close();
+    }
+
+    @Test
+    void readGoesToReplica() {
+        assertEquals(REPLICA, read());
+    }
+
+    @Test
+    void unmarkedStatementGoesToPrimary() {
+        assertEquals(PRIMARY, jdbcTemplate.queryForObject("SELECT name FROM instance", String.class));
+    }
+
+    @Test
+    void onPrimaryOverridesRead() {
+        assertEquals(PRIMARY, routingContext.onPrimary(this::read));
+        assertEquals(REPLICA, read());
+    }
+
+    @Test
+    void onPrimaryIsNestable() {
+        String inner = routingContext.onPrimary(() -> routingContext.onPrimary(this::read));
+        assertEquals(PRIMARY, inner);
+        assertEquals(REPLICA, read());
+    }
+
+    @Test
+    void onPrimaryAppliesToUnboundThread() throws Exception {
+        // 后台刷新线程（如权限刷新）没有绑定用户，也能强制读主库
+        String routed = CompletableFuture.supplyAsync(() -> routingContext.onPrimary(this::read)).get();
+        assertEquals(PRIMARY, routed);
+    }
+
+    @Test
+    void readAfterWriteStaysOnPrimaryForWriter() throws Exception {
+        routingContext.bindUser(1);
+        routingContext.markWrite();
+        assertEquals(PRIMARY, read());
+
+        // 同一用户的下一个请求仍在粘滞窗口内
+        routingContext.endRequest();
+        routingContext.bindUser(1);
+        assertEquals(PRIMARY, read());
+
+        // 其他用户不受影响
+        String other = CompletableFuture.supplyAsync(() -> {
+            routingContext.bindUser(2);
+            try {
+                return read();
+            } finally {
+                routingContext.endRequest();
+            }
+        }).get();
+        assertEquals(REPLICA, other);
+    }
+
+    @Test
+    void stickinessExpiresAfterWindow() {
+        ReflectionTestUtils.setField(routingContext, "stickyWindow", Duration.ZERO);
+        routingContext.bindUser(1);
+        routingContext.markWrite();
+        routingContext.endRequest();
+        routingContext.bindUser(1);
+        assertEquals(REPLICA, read());
+    }
+
+    private String read() {
+        Boolean previous = routingContext.markReadStatement(Boolean.TRUE);
+        try {
+            return jdbcTemplate.queryForObject("SELECT name FROM instance", String.class);
+        } finally {
+            routingContext.markReadStatement(previous);
+        }
+    }
+
+    private static HikariDataSource instance(String name) {
+        HikariDataSource instance = new HikariDataSource();
+        instance.setJdbcUrl("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        instance.setUsername("sa");
+        instance.setMaximumPoolSize(2);
+        JdbcTemplate template = new JdbcTemplate(instance);
+        template.execute("DROP TABLE IF EXISTS instance");
+        template.execute("CREATE TABLE instance (name VARCHAR(16))");
+        template.update("INSERT INTO instance (name) VALUES (?)", name);
+        return instance;
+    }
+}
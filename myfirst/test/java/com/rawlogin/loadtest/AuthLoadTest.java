@@ -0,0 +1,188 @@
+package com.rawlogin.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 端到端压测
+ * 基于内嵌H2启动完整应用，以固定并发驱动 登录 → 当前用户 → 用户列表/搜索 → 角色编辑 的真实流量，
+ * 按接口输出p50/p99/p999延迟和吞吐量。
+ * 默认不随单元测试执行，运行方式：mvn test -Ploadtest [-Dloadtest.concurrency=32 ...]
+ */
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AuthLoadTest {
+
+    private static final String LOGIN = "login";
+    private static final String CURRENT = "current";
+    private static final String USER_LIST = "user-list";
+    private static final String USER_SEARCH = "user-search";
+    private static final String ROLE_EDIT = "role-edit";
+
+    /**
+     * 每多少个虚拟用户中有一个管理员（负责角色编辑流量）
+     */
+    private static final int ADMIN_EVERY = 8;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.users}")
+    private int userCount;
+
+    @Value("${loadtest.concurrency}")
+    private int concurrency;
+
+    @Value("${loadtest.warmup-seconds}")
+    private int warmupSeconds;
+
+    @Value("${loadtest.duration-seconds}")
+    private int durationSeconds;
+
+    @Test
+    void mixedAuthTraffic() throws Exception {
+        int adminCount = Math.max(1, concurrency / ADMIN_EVERY);
+        LoadTestDataGenerator.Dataset dataset = new LoadTestDataGenerator(jdbcTemplate).generate(userCount, adminCount);
+
+        // 预热（JIT、连接池、缓存），结果丢弃
+        run(dataset, TimeUnit.SECONDS.toNanos(warmupSeconds));
+
+        long durationNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+        LatencyStats stats = run(dataset, durationNanos);
+        String report = stats.report(durationNanos, concurrency);
+        System.out.println(report);
+
+        assertTrue(stats.totalCount() > 0, "压测未产生任何请求");
+        assertEquals(0, stats.totalErrors(), report);
+    }
+
+    private LatencyStats run(LoadTestDataGenerator.Dataset dataset, long durationNanos) throws Exception {
+        LatencyStats stats = new LatencyStats(LOGIN, CURRENT, USER_LIST, USER_SEARCH, ROLE_EDIT);
+        long deadline = System.nanoTime() + durationNanos;
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            Future<?>[] futures = new Future<?>[concurrency];
+            for (int i = 0; i < concurrency; i++) {
+                int virtualUser = i;
+                futures[i] = executor.submit(() -> virtualUser(virtualUser, dataset, stats, deadline));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return stats;
+    }
+
+    /**
+     * 单个虚拟用户的会话循环
+     */
+    private void virtualUser(int index, LoadTestDataGenerator.Dataset dataset, LatencyStats stats, long deadline) {
+        boolean admin = index % ADMIN_EVERY == 0 && index / ADMIN_EVERY < dataset.admins.size();
+        List<String> pool = admin ? dataset.admins : dataset.users;
+        Integer roleId = admin ? dataset.roleIds.get(index / ADMIN_EVERY) : null;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int round = 0;
+
+        while (System.nanoTime() < deadline) {
+            String username = admin ? pool.get(index / ADMIN_EVERY) : pool.get(random.nextInt(pool.size()));
+
+            Map<String, String> credentials = new HashMap<>();
+            credentials.put("username", username);
+            credentials.put("password", LoadTestDataGenerator.PASSWORD);
+            ResponseEntity<String> login = call(stats, LOGIN, HttpMethod.POST, "/api/auth/login", null, credentials);
+            String token = token(login);
+            if (token == null) {
+                continue;
+            }
+
+            call(stats, CURRENT, HttpMethod.GET, "/api/auth/current", token, null);
+            call(stats, USER_LIST, HttpMethod.GET, "/api/users", token, null);
+            call(stats, USER_SEARCH, HttpMethod.GET,
+                    "/api/users/search?username=" + dataset.users.get(random.nextInt(dataset.users.size())), token, null);
+
+            if (admin) {
+                Map<String, Object> role = new HashMap<>();
+                role.put("name", "压测角色" + index);
+                role.put("code", "LT_ROLE_" + (index / ADMIN_EVERY));
+                role.put("description", "round " + round++);
+                role.put("status", 1);
+                role.put("permissions", round % 2 == 0
+                        ? Arrays.asList("sys:user:list", "sys:user:view")
+                        : Arrays.asList("sys:user:list", "sys:user:view", "sys:role:view"));
+                call(stats, ROLE_EDIT, HttpMethod.PUT, "/api/roles/" + roleId, token, role);
+            }
+        }
+    }
+
+    private ResponseEntity<String> call(LatencyStats stats, String endpoint, HttpMethod method, String url,
+                                        String token, Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        long start = System.nanoTime();
+        try {
+            ResponseEntity<String> response = restTemplate.exchange(
+                    url, method, new HttpEntity<>(body, headers), String.class);
+            stats.record(endpoint, System.nanoTime() - start, isSuccess(response));
+            return response;
+        } catch (RuntimeException e) {
+            stats.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private boolean isSuccess(ResponseEntity<String> response) {
+        return response.getStatusCode().is2xxSuccessful()
+                && response.getBody() != null
+                && response.getBody().contains("\"code\":200");
+    }
+
+    private String token(ResponseEntity<String> login) {
+        if (login == null || !isSuccess(login)) {
+            return null;
+        }
+        try {
+            JsonNode token = objectMapper.readTree(login.getBody()).path("data").path("token");
+            return token.isTextual() ? token.asText() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
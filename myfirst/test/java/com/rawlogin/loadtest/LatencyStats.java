@@ -0,0 +1,100 @@
+package com.rawlogin.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按接口统计的延迟记录
+ * 记录每个请求的耗时（纳秒），结束后排序计算分位数
+ */
+class LatencyStats {
+
+    private final Map<String, Recorder> recorders = new LinkedHashMap<>();
+
+    LatencyStats(String... endpoints) {
+        for (String endpoint : endpoints) {
+            recorders.put(endpoint, new Recorder());
+        }
+    }
+
+    void record(String endpoint, long nanos, boolean success) {
+        recorders.get(endpoint).record(nanos, success);
+    }
+
+    long totalCount() {
+        return recorders.values().stream().mapToLong(Recorder::count).sum();
+    }
+
+    long totalErrors() {
+        return recorders.values().stream().mapToLong(recorder -> recorder.errors.get()).sum();
+    }
+
+    /**
+     * 生成报告
+     * @param elapsedNanos 压测持续时间
+     * @param concurrency 并发数
+     * @return 报告文本
+     */
+    String report(long elapsedNanos, int concurrency) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%n压测结果：并发 %d，持续 %.1fs%n", concurrency, seconds));
+        sb.append(String.format("%-16s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+        for (Map.Entry<String, Recorder> entry : recorders.entrySet()) {
+            long[] sorted = entry.getValue().snapshot();
+            Arrays.sort(sorted);
+            sb.append(String.format("%-16s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), sorted.length, entry.getValue().errors.get(), sorted.length / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(percentile(sorted, 0.999)), millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0)));
+        }
+        sb.append(String.format("%-16s %9d %7d %10.1f%n", "total", totalCount(), totalErrors(), totalCount() / seconds));
+        return sb.toString();
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * 单个接口的记录器
+     */
+    private static class Recorder {
+
+        private final AtomicLong errors = new AtomicLong();
+
+        private long[] samples = new long[1024];
+
+        private int size;
+
+        synchronized void record(long nanos, boolean success) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        synchronized long count() {
+            return size;
+        }
+
+        synchronized long[] snapshot() {
+            return Arrays.copyOf(samples, size);
+        }
+    }
+}
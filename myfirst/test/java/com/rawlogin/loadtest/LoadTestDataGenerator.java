@@ -0,0 +1,90 @@
+package com.rawlogin.loadtest;
+
+import com.rawlogin.util.PasswordUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 压测数据生成器
+ * 在Flyway迁移脚本（db/migration）的种子数据之上批量生成普通用户、管理员和可编辑的自定义角色
+ */
+class LoadTestDataGenerator {
+
+    static final String PASSWORD = "loadtest123";
+
+    private static final String USER_PREFIX = "lt_user_";
+
+    private static final String ADMIN_PREFIX = "lt_admin_";
+
+    private static final String ROLE_PREFIX = "LT_ROLE_";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    LoadTestDataGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 生成压测数据
+     * @param userCount 普通用户数量
+     * @param adminCount 管理员数量（每个管理员独占一个自定义角色用于编辑）
+     * @return 生成的数据集
+     */
+    Dataset generate(int userCount, int adminCount) {
+        // 所有用户共用同一个密码，只做一次BCrypt
+        String encoded = PasswordUtil.encode(PASSWORD);
+
+        List<String> users = insertUsers(USER_PREFIX, "USER", userCount, encoded);
+        List<String> admins = insertUsers(ADMIN_PREFIX, "ADMIN", adminCount, encoded);
+        jdbcTemplate.update("INSERT IGNORE INTO user_roles (user_id, role_id) " +
+                "SELECT u.id, r.id FROM users u, roles r WHERE u.role = r.code AND u.username LIKE 'lt\\_%'");
+
+        List<Integer> roleIds = new ArrayList<>(adminCount);
+        for (int i = 0; i < adminCount; i++) {
+            String code = ROLE_PREFIX + i;
+            jdbcTemplate.update("INSERT INTO roles (name, code, description, status) VALUES (?, ?, ?, 1)",
+                    "压测角色" + i, code, "压测生成的角色");
+            Integer roleId = jdbcTemplate.queryForObject("SELECT id FROM roles WHERE code = ?", Integer.class, code);
+            jdbcTemplate.update("INSERT INTO role_permissions (role_id, permission_id) " +
+                    "SELECT ?, id FROM permissions WHERE code IN ('sys:user:list', 'sys:user:view')", roleId);
+            roleIds.add(roleId);
+        }
+        return new Dataset(users, admins, roleIds);
+    }
+
+    private List<String> insertUsers(String prefix, String role, int count, String encodedPassword) {
+        List<Object[]> rows = new ArrayList<>(count);
+        List<String> usernames = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String username = String.format("%s%04d", prefix, i);
+            usernames.add(username);
+            rows.add(new Object[]{username, encodedPassword, username + "@loadtest.local", role});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, password, email, role, status, create_time, update_time) " +
+                "VALUES (?, ?, ?, ?, 1, NOW(), NOW())", rows);
+        return usernames;
+    }
+
+    /**
+     * 生成的数据集
+     */
+    static class Dataset {
+
+        final List<String> users;
+
+        final List<String> admins;
+
+        /**
+         * 与admins一一对应的可编辑角色ID
+         */
+        final List<Integer> roleIds;
+
+        Dataset(List<String> users, List<String> admins, List<Integer> roleIds) {
+            this.users = users;
+            this.admins = admins;
+            this.roleIds = roleIds;
+        }
+    }
+}